@@ -0,0 +1,61 @@
+package edu.espe.springlab.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Serializacion Jackson de las respuestas, con la misma configuracion de fechas que la aplicacion
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int datasetSize;
+
+    private ObjectMapper mapper;
+    private StudentResponse student;
+    private StudentStatsResponse stats;
+    private List<StudentResponse> students;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        students = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            StudentResponse r = new StudentResponse();
+            r.setId(1_000_000L + i);
+            r.setFullName("Student " + i);
+            r.setEmail("student" + i + "@example.com");
+            r.setBirthDate(LocalDate.of(2000, 1, 1).plusDays(i % 3650));
+            r.setActive(i % 5 != 0);
+            students.add(r);
+        }
+        student = students.get(0);
+        stats = new StudentStatsResponse(datasetSize, datasetSize - datasetSize / 5, datasetSize / 5);
+    }
+
+    @Benchmark
+    public byte[] studentResponse() throws Exception {
+        return mapper.writeValueAsBytes(student);
+    }
+
+    @Benchmark
+    public byte[] statsResponse() throws Exception {
+        return mapper.writeValueAsBytes(stats);
+    }
+
+    @Benchmark
+    public byte[] studentList() throws Exception {
+        return mapper.writeValueAsBytes(students);
+    }
+}
@@ -0,0 +1,114 @@
+package edu.espe.springlab.repository;
+
+import edu.espe.springlab.SpringLabApplication;
+import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.service.StudentService;
+import edu.espe.springlab.web.advice.NotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+//Consultas del repositorio contra H2 en memoria con el contexto real de Spring/Hibernate
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RepositoryBenchmark {
+
+    @Param({"1000", "100000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private StudentRepository repository;
+    private StudentService service;
+    private long[] ids;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringLabApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.devtools.restart.enabled=false",
+                        "app.reactive.r2dbc-url=r2dbc:h2:mem:///jmh?options=DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "logging.level.root=WARN")
+                .run();
+        repository = context.getBean(StudentRepository.class);
+        service = context.getBean(StudentService.class);
+
+        List<Student> students = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            Student s = new Student();
+            s.setFullName("Student " + i);
+            s.setEmail("student" + i + "@example.com");
+            s.setActive(i % 5 != 0);
+            students.add(s);
+        }
+        context.getBean(StudentJdbcRepository.class).insertAll(students);
+        ids = students.stream().mapToLong(Student::getId).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    //Misma lectura proyectada a StudentResponse (sin entidad administrada)
+    @Benchmark
+    public Object findResponseById() {
+        return repository.findResponseById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    //Camino de id inexistente sin cache negativa: una consulta por cada intento
+    @Benchmark
+    public Object missingFromRepository() {
+        return repository.findResponseById(missingId());
+    }
+
+    //Mismo camino por el servicio: tras el primer fallo responde la cache negativa
+    @Benchmark
+    public Object missingThroughService() {
+        try {
+            return service.getById(missingId());
+        } catch (NotFoundException ex) {
+            return ex;
+        }
+    }
+
+    private static long missingId() {
+        return -1L - ThreadLocalRandom.current().nextInt(1000);
+    }
+
+    //Las mismas consultas proyectadas que usan GET /api/students y la busqueda por nombre
+    @Benchmark
+    public Object keysetPage() {
+        long after = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return repository.findResponsesAfter(after, PageRequest.ofSize(50));
+    }
+
+    @Benchmark
+    public Object searchByName() {
+        return repository.findResponsesByNameLike("%student 12%");
+    }
+
+    @Benchmark
+    public Object countGroupedByActive() {
+        return repository.countGroupedByActive();
+    }
+}
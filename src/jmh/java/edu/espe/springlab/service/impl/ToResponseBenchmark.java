@@ -0,0 +1,48 @@
+package edu.espe.springlab.service.impl;
+
+import edu.espe.springlab.domain.Student;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Costo de copiar entidades a StudentResponse (listados, busquedas, exportacion)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ToResponseBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int datasetSize;
+
+    private List<Student> students;
+
+    @Setup
+    public void setUp() {
+        students = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            Student s = new Student();
+            s.setId(1_000_000L + i);
+            s.setFullName("Student " + i);
+            s.setEmail("student" + i + "@example.com");
+            s.setBirthDate(LocalDate.of(2000, 1, 1).plusDays(i % 3650));
+            s.setActive(i % 5 != 0);
+            students.add(s);
+        }
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole bh) {
+        for (Student s : students) {
+            bh.consume(StudentServiceImpl.toResponse(s));
+        }
+    }
+
+    @Benchmark
+    public Object toResponseList() {
+        return students.stream().map(StudentServiceImpl::toResponse).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package edu.espe.springlab.web.advice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Camino de error 404/409: cuerpo de GlobalExceptionHandler, su serializacion y el costo de la excepcion.
+//Los metodos legacy* reproducen el camino anterior (excepcion con stack trace y cuerpo HashMap) para comparar
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ErrorBodyBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper mapper;
+    private NotFoundException notFound;
+    private ConflictException conflict;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        notFound = new NotFoundException("Estudiante no encontrado");
+        conflict = new ConflictException("El email ya esta registrado");
+    }
+
+    @Benchmark
+    public Object notFoundBody() {
+        return handler.handleNotFound(notFound);
+    }
+
+    @Benchmark
+    public Object conflictBody() {
+        return handler.handleConflict(conflict);
+    }
+
+    @Benchmark
+    public byte[] notFoundSerialized() throws Exception {
+        return mapper.writeValueAsBytes(handler.handleNotFound(notFound).getBody());
+    }
+
+    //Incluye crear la excepcion (sin stack trace) como en cada peticion real
+    @Benchmark
+    public Object notFoundWithException() {
+        return handler.handleNotFound(new NotFoundException("Estudiante no encontrado"));
+    }
+
+    @Benchmark
+    public byte[] legacyNotFoundSerialized() throws Exception {
+        return mapper.writeValueAsBytes(legacyBody(notFound.getMessage()));
+    }
+
+    @Benchmark
+    public Object legacyNotFoundWithException() {
+        return legacyBody(new RuntimeException("Estudiante no encontrado").getMessage());
+    }
+
+    private static Map<String, Object> legacyBody(String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", 404);
+        body.put("error", "Not Found");
+        body.put("message", message);
+        return body;
+    }
+}
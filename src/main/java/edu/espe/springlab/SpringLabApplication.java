@@ -2,8 +2,10 @@ package edu.espe.springlab;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+//R2DBC se configura en ReactiveStudentRepository: un bean ConnectionFactory desactivaria el DataSource de JPA
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class SpringLabApplication {
 
 	public static void main(String[] args) {
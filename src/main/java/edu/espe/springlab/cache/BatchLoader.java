@@ -0,0 +1,166 @@
+package edu.espe.springlab.cache;
+
+import edu.espe.springlab.dto.BatchLoaderStatsResponse;
+import edu.espe.springlab.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Micro-lotes estilo DataLoader: junta las claves pedidas dentro de una ventana corta
+ * (o hasta maxBatchSize) y las resuelve con una sola llamada a la funcion de lote.
+ * Claves repetidas en la misma ventana se consultan una vez. Una clave sin resultado
+ * completa con null. get espera como maximo timeout; close falla las claves aun sin despachar
+ * para que nadie quede esperando un lote que ya no se va a ejecutar.
+ */
+public class BatchLoader<K, V> {
+    private final String name;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutNanos;
+    private final ScheduledExecutorService executor;
+    private final Function<List<K>, Map<K, V>> batchFunction;
+    //Tamaño de cada lote (exacto por debajo de 128)
+    private final LatencyHistogram batchSizes = new LatencyHistogram();
+    private final LongAdder keys = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private final Object lock = new Object();
+    private Map<K, List<CompletableFuture<V>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> timer;
+    private boolean closed;
+
+    public BatchLoader(String name, Duration window, int maxBatchSize, Duration timeout,
+                       ScheduledExecutorService executor, Function<List<K>, Map<K, V>> batchFunction) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize debe ser >= 1");
+        }
+        this.name = name;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutNanos = timeout.toNanos();
+        this.executor = executor;
+        this.batchFunction = batchFunction;
+    }
+
+    public CompletableFuture<V> load(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        Map<K, List<CompletableFuture<V>>> full = null;
+        synchronized (lock) {
+            if (closed) {
+                future.completeExceptionally(closedException());
+                return future;
+            }
+            pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (timer == null) {
+                timer = executor.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            Map<K, List<CompletableFuture<V>>> batch = full;
+            try {
+                executor.execute(() -> dispatch(batch));
+            } catch (RejectedExecutionException ex) {
+                fail(batch, closedException());
+            }
+        }
+        return future;
+    }
+
+    //Version bloqueante de load, acotada por timeout: relanza la excepcion original de la funcion de lote
+    public V get(K key) {
+        try {
+            return load(key).get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            timeouts.increment();
+            throw new IllegalStateException("Sin respuesta del lote " + name + " en "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando el lote " + name, ex);
+        }
+    }
+
+    //Antes de apagar el executor: las claves en espera fallan en vez de quedar sin completar
+    public void close() {
+        Map<K, List<CompletableFuture<V>>> batch;
+        synchronized (lock) {
+            closed = true;
+            batch = takePending();
+        }
+        fail(batch, closedException());
+    }
+
+    private IllegalStateException closedException() {
+        return new IllegalStateException("El lote " + name + " esta cerrado");
+    }
+
+    private Map<K, List<CompletableFuture<V>>> takePending() {
+        Map<K, List<CompletableFuture<V>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        return batch;
+    }
+
+    private void flush() {
+        Map<K, List<CompletableFuture<V>>> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(Map<K, List<CompletableFuture<V>>> batch) {
+        batchSizes.record(batch.size());
+        keys.add(batch.size());
+        Map<K, V> results;
+        try {
+            results = batchFunction.apply(new ArrayList<>(batch.keySet()));
+        } catch (RuntimeException | Error ex) {
+            fail(batch, ex);
+            return;
+        }
+        batch.forEach((key, futures) -> {
+            V value = results.get(key);
+            futures.forEach(f -> f.complete(value));
+        });
+    }
+
+    private void fail(Map<K, List<CompletableFuture<V>>> batch, Throwable ex) {
+        batch.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(ex)));
+    }
+
+    public BatchLoaderStatsResponse stats() {
+        return new BatchLoaderStatsResponse(name, TimeUnit.NANOSECONDS.toMicros(windowNanos), maxBatchSize,
+                batchSizes.getCount(), keys.sum(), batchSizes.getMean(),
+                batchSizes.valueAtPercentile(50), batchSizes.valueAtPercentile(90),
+                batchSizes.valueAtPercentile(99), batchSizes.getMax(), timeouts.sum());
+    }
+}
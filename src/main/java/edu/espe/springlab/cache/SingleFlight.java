@@ -0,0 +1,89 @@
+package edu.espe.springlab.cache;
+
+import edu.espe.springlab.dto.CoalescingStatsResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave: la primera ejecuta la carga y
+ * las demas esperan su resultado (o su excepcion) en vez de repetir la consulta.
+ * No guarda nada: la clave se libera antes de publicar el resultado, asi quien llega
+ * despues ejecuta una carga nueva. Si la espera supera el timeout, el que espera
+ * ejecuta la carga por su cuenta para no quedar atado a una consulta lenta; por eso el
+ * loader debe ser la consulta directa, no algo que vuelva a esperar la misma carga
+ * (getById no pasa por aqui: Caffeine ya agrupa sus cargas por id).
+ */
+public class SingleFlight<K, V> {
+    private final String name;
+    private final long timeoutNanos;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(String name, Duration timeout) {
+        this.name = name;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        calls.increment();
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> current = inFlight.putIfAbsent(key, mine);
+        if (current == null) {
+            return lead(key, mine, loader);
+        }
+        collapsed.increment();
+        try {
+            return current.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            timeouts.increment();
+            executions.increment();
+            return loader.get();
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la lectura compartida", ex);
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> mine, Supplier<V> loader) {
+        executions.increment();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(ex);
+            throw ex;
+        }
+        inFlight.remove(key, mine);
+        mine.complete(value);
+        return value;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    public CoalescingStatsResponse stats() {
+        return new CoalescingStatsResponse(name, calls.sum(), executions.sum(), collapsed.sum(), timeouts.sum(),
+                inFlight.size());
+    }
+}
@@ -0,0 +1,73 @@
+package edu.espe.springlab.cache;
+
+import edu.espe.springlab.dto.BatchLoaderStatsResponse;
+import edu.espe.springlab.dto.StudentResponse;
+import edu.espe.springlab.metrics.ServerTimings;
+import edu.espe.springlab.repository.StudentRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Agrupa los getById concurrentes en una consulta IN (findResponsesByIdIn) por ventana
+@Component
+public class StudentBatchLoader implements DisposableBean {
+    private final ScheduledExecutorService executor;
+    private final BatchLoader<Long, StudentResponse> loader;
+
+    public StudentBatchLoader(StudentRepository repo,
+                              @Value("${app.batching.window:PT0.002S}") Duration window,
+                              @Value("${app.batching.max-batch-size:100}") int maxBatchSize,
+                              @Value("${app.batching.threads:4}") int threads,
+                              @Value("${app.batching.timeout:PT2S}") Duration timeout) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, r -> {
+            Thread t = new Thread(r, "student-batch-loader-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.loader = new BatchLoader<>("students-by-id", window, maxBatchSize, timeout, executor, ids -> {
+            Map<Long, StudentResponse> byId = new HashMap<>();
+            for (StudentResponse student : repo.findResponsesByIdIn(ids)) {
+                byId.put(student.getId(), student);
+            }
+            return byId;
+        });
+    }
+
+    public Optional<StudentResponse> findById(Long id) {
+        //La consulta corre en otro hilo (sin ServerTimings): la espera se suma como db de la peticion
+        ServerTimings timings = ServerTimings.current();
+        if (timings == null) {
+            return Optional.ofNullable(loader.get(id));
+        }
+        long t0 = System.nanoTime();
+        try {
+            return Optional.ofNullable(loader.get(id));
+        } finally {
+            timings.addDb(System.nanoTime() - t0);
+        }
+    }
+
+    public BatchLoaderStatsResponse stats() {
+        return loader.stats();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        //Primero fallan las claves sin despachar; los lotes ya encolados terminan antes de cortar
+        loader.close();
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package edu.espe.springlab.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.dto.CacheStatsResponse;
+import edu.espe.springlab.dto.StudentResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache de lectura para getById (Caffeine, politica W-TinyLFU) acotada por tamaño y TTL.
+ * Se invalida por id cuando se confirma cualquier cambio del estudiante.
+ * Ademas recuerda por poco tiempo los ids que no existen (cache negativa), para que
+ * los barridos de ids inexistentes no lleguen a la base; un alta borra su id de ahi.
+ */
+@Component
+public class StudentCache {
+    private final Cache<Long, StudentResponse> cache;
+    private final Cache<Long, Boolean> missing;
+
+    public StudentCache(@Value("${app.cache.students.max-size:10000}") long maxSize,
+                        @Value("${app.cache.students.ttl:PT10M}") Duration ttl,
+                        @Value("${app.cache.students.negative-max-size:100000}") long negativeMaxSize,
+                        @Value("${app.cache.students.negative-ttl:PT5S}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(negativeTtl)
+                .recordStats()
+                .build();
+    }
+
+    //Si no esta en cache, lo carga con el loader (una sola carga concurrente por id).
+    //Solo con lecturas fuera de transaccion: un rollback no pasa por la invalidacion
+    public StudentResponse get(Long id, Function<Long, StudentResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    //true si hace poco se comprobo que el id no existe
+    public boolean isKnownMissing(Long id) {
+        return missing.getIfPresent(id) != null;
+    }
+
+    public void markMissing(Long id) {
+        missing.put(id, Boolean.TRUE);
+    }
+
+    //Sin cargar: null si no esta en cache
+    public StudentResponse peek(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        missing.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getId() == null) {
+            return;
+        }
+        if (event.getType() == StudentChangedEvent.Type.CREATED) {
+            missing.invalidate(event.getId());
+        } else {
+            cache.invalidate(event.getId());
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        return toResponse("students", cache);
+    }
+
+    public CacheStatsResponse missingStats() {
+        return toResponse("students-missing", missing);
+    }
+
+    private static CacheStatsResponse toResponse(String name, Cache<Long, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
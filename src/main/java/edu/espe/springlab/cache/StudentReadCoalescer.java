@@ -0,0 +1,29 @@
+package edu.espe.springlab.cache;
+
+import edu.espe.springlab.dto.CoalescingStatsResponse;
+import edu.espe.springlab.dto.StudentResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+//Single-flight de findByPartialName por termino normalizado
+//(getById no lo necesita: la cache de Caffeine ya hace una sola carga por id)
+@Component
+public class StudentReadCoalescer {
+    private final SingleFlight<String, List<StudentResponse>> byName;
+
+    public StudentReadCoalescer(@Value("${app.coalescing.timeout:PT2S}") Duration timeout) {
+        this.byName = new SingleFlight<>("students-by-name", timeout);
+    }
+
+    public List<StudentResponse> byName(String term, Supplier<List<StudentResponse>> loader) {
+        return byName.execute(term, loader);
+    }
+
+    public List<CoalescingStatsResponse> stats() {
+        return List.of(byName.stats());
+    }
+}
@@ -0,0 +1,38 @@
+package edu.espe.springlab.config;
+
+import edu.espe.springlab.datasource.ConnectionLimiter;
+import edu.espe.springlab.datasource.LimitingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+//Activo por defecto junto con spring.threads.virtual.enabled (ver app.db-limiter)
+@Configuration
+@ConditionalOnProperty(name = "app.db-limiter.enabled", havingValue = "true")
+public class ConnectionLimiterConfig {
+
+    @Bean
+    public static ConnectionLimiter connectionLimiter(@Value("${app.db-limiter.permits:10}") int permits,
+                                                      @Value("${app.db-limiter.acquire-timeout:PT30S}") Duration timeout) {
+        return new ConnectionLimiter(permits, timeout);
+    }
+
+    @Bean
+    public static BeanPostProcessor limitingDataSourcePostProcessor(ObjectProvider<ConnectionLimiter> limiter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LimitingDataSource)) {
+                    return new LimitingDataSource(dataSource, limiter.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package edu.espe.springlab.config;
+
+import edu.espe.springlab.domain.id.SnowflakeIdAllocator;
+import edu.espe.springlab.domain.id.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGenerationConfig {
+
+    //Debe ser distinto en cada instancia que escriba en la misma base (0..31)
+    @Value("${app.id.node-id:0}")
+    private int nodeId;
+
+    @Bean
+    public SnowflakeIdAllocator snowflakeIdAllocator() {
+        return SnowflakeIdAllocator.forNode(nodeId);
+    }
+
+    //Pasa el mismo node-id al generador de Hibernate
+    @Bean
+    public HibernatePropertiesCustomizer snowflakeNodeIdCustomizer() {
+        return properties -> properties.put(SnowflakeIdGenerator.NODE_ID_SETTING, nodeId);
+    }
+}
@@ -0,0 +1,10 @@
+package edu.espe.springlab.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+//Tareas periodicas (reconciliacion de contadores, limpieza de caches, etc.)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,38 @@
+package edu.espe.springlab.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.espe.springlab.metrics.TimingDataSource;
+import edu.espe.springlab.metrics.TimingJacksonHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class ServerTimingConfig {
+
+    //Envuelve el DataSource (Hikari) para medir el tiempo JDBC de cada peticion
+    @Bean
+    public static BeanPostProcessor timingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)) {
+                    return new TimingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    //Reemplaza el convertidor JSON de Spring Boot por uno que mide la serializacion
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper,
+            @Value("${app.server-timing.buffer-serialization:false}") boolean bufferSerialization) {
+        return new TimingJacksonHttpMessageConverter(objectMapper, bufferSerialization);
+    }
+}
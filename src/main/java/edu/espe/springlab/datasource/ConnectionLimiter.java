@@ -0,0 +1,61 @@
+package edu.espe.springlab.datasource;
+
+import edu.espe.springlab.dto.ConnectionLimiterStatsResponse;
+import edu.espe.springlab.metrics.LatencyHistogram;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita las conexiones abiertas a la vez con un semaforo justo (FIFO).
+ * Con hilos virtuales miles de peticiones pueden pedir conexion al mismo tiempo;
+ * asi esperan en orden aqui en vez de agotar el pool de Hikari.
+ */
+public class ConnectionLimiter {
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long timeoutNanos;
+    private final LatencyHistogram waits = new LatencyHistogram();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public ConnectionLimiter(int maxPermits, Duration acquireTimeout) {
+        if (maxPermits < 1) {
+            throw new IllegalArgumentException("maxPermits debe ser >= 1");
+        }
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.timeoutNanos = acquireTimeout.toNanos();
+    }
+
+    public void acquire() throws SQLTransientConnectionException {
+        long t0 = System.nanoTime();
+        boolean ok;
+        try {
+            ok = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexion", ex);
+        }
+        waits.record(System.nanoTime() - t0);
+        if (!ok) {
+            timeouts.increment();
+            throw new SQLTransientConnectionException("No hay conexion disponible tras "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+        }
+        acquired.increment();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public ConnectionLimiterStatsResponse stats() {
+        return new ConnectionLimiterStatsResponse(maxPermits, permits.availablePermits(), permits.getQueueLength(),
+                acquired.sum(), timeouts.sum(), waits.getMean() / 1e6,
+                waits.valueAtPercentile(99.0) / 1e6, waits.getMax() / 1e6);
+    }
+}
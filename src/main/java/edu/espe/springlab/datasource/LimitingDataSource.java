@@ -0,0 +1,65 @@
+package edu.espe.springlab.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Pide un permiso al ConnectionLimiter antes de cada conexion y lo devuelve al cerrarla
+public class LimitingDataSource extends DelegatingDataSource {
+    private final ConnectionLimiter limiter;
+
+    public LimitingDataSource(DataSource target, ConnectionLimiter limiter) {
+        super(target);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        limiter.acquire();
+        try {
+            return wrap(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            limiter.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        limiter.acquire();
+        try {
+            return wrap(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            limiter.release();
+            throw ex;
+        }
+    }
+
+    private Connection wrap(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(LimitingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        try {
+                            target.close();
+                        } finally {
+                            //close puede llamarse mas de una vez; el permiso se devuelve solo una
+                            if (released.compareAndSet(false, true)) {
+                                limiter.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+}
@@ -1,14 +1,19 @@
 package edu.espe.springlab.domain;
 
+import edu.espe.springlab.domain.event.StudentEntityListener;
+import edu.espe.springlab.domain.id.SnowflakeId;
 import jakarta.persistence.*;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "students")
+//(active, birthDate): desactivaciones masivas y conteos por rango de fecha sin recorrer la tabla
+@Table(name = "students", indexes = @Index(name = "idx_students_active_birth_date", columnList = "active, birthDate"))
+@EntityListeners(StudentEntityListener.class)
 public class Student {
+    //Id asignado en la aplicacion (ordenable por tiempo): permite agrupar INSERTs en batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false, length = 120)
@@ -21,6 +26,11 @@ public class Student {
 
     private Boolean active = true;
 
+    //Control de concurrencia optimista; tambien sirve de ETag del recurso
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public Student() {}
 
     public Long getId() {
@@ -62,4 +72,12 @@ public class Student {
     public void setActive(Boolean active) {
         this.active = active;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
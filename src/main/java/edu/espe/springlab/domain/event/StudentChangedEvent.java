@@ -0,0 +1,60 @@
+package edu.espe.springlab.domain.event;
+
+import edu.espe.springlab.domain.Student;
+
+import java.time.LocalDate;
+
+//Copia inmutable del estudiante en el momento del cambio, para las estructuras en memoria
+public class StudentChangedEvent {
+    public enum Type { CREATED, UPDATED, DEACTIVATED, DELETED }
+
+    private final Type type;
+    private final Long id;
+    private final String fullName;
+    private final String email;
+    private final LocalDate birthDate;
+    private final Boolean active;
+
+    public StudentChangedEvent(Type type, Long id, String fullName, String email, LocalDate birthDate, Boolean active) {
+        this.type = type;
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+        this.birthDate = birthDate;
+        this.active = active;
+    }
+
+    public static StudentChangedEvent of(Type type, Student student) {
+        return new StudentChangedEvent(type, student.getId(), student.getFullName(), student.getEmail(),
+                student.getBirthDate(), student.getActive());
+    }
+
+    //Desactivacion por UPDATE masivo: id y fecha de nacimiento (nombre y email no cambian)
+    public static StudentChangedEvent deactivated(Long id, LocalDate birthDate) {
+        return new StudentChangedEvent(Type.DEACTIVATED, id, null, null, birthDate, false);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+}
@@ -0,0 +1,36 @@
+package edu.espe.springlab.domain.event;
+
+import edu.espe.springlab.domain.Student;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publica un StudentChangedEvent por cada INSERT/UPDATE/DELETE hecho por JPA,
+ * sin importar si vino del servicio o directamente del repositorio.
+ * Los consumidores usan @TransactionalEventListener para enterarse solo de lo confirmado.
+ * Hibernate crea esta clase a traves de Spring, por eso puede recibir dependencias.
+ */
+public class StudentEntityListener {
+    private final ApplicationEventPublisher publisher;
+
+    public StudentEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    public void afterInsert(Student student) {
+        publisher.publishEvent(StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, student));
+    }
+
+    @PostUpdate
+    public void afterUpdate(Student student) {
+        publisher.publishEvent(StudentChangedEvent.of(StudentChangedEvent.Type.UPDATED, student));
+    }
+
+    @PostRemove
+    public void afterDelete(Student student) {
+        publisher.publishEvent(StudentChangedEvent.of(StudentChangedEvent.Type.DELETED, student));
+    }
+}
@@ -0,0 +1,37 @@
+package edu.espe.springlab.domain.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+//Generador de Hibernate: asigna el id antes del INSERT, sin ida y vuelta a la base
+public class SnowflakeIdGenerator implements BeforeExecutionGenerator {
+    //Propiedad de Hibernate con el node-id (la llena IdGenerationConfig desde app.id.node-id)
+    public static final String NODE_ID_SETTING = "app.id.node-id";
+
+    private final SnowflakeIdAllocator allocator;
+
+    public SnowflakeIdGenerator(SnowflakeId config, Member idMember, CustomIdGeneratorCreationContext context) {
+        Object nodeId = context.getServiceRegistry()
+                .getService(ConfigurationService.class)
+                .getSettings()
+                .get(NODE_ID_SETTING);
+        this.allocator = SnowflakeIdAllocator.forNode(nodeId == null ? 0 : Integer.parseInt(nodeId.toString()));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return allocator.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
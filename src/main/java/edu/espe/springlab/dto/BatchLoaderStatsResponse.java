@@ -0,0 +1,122 @@
+package edu.espe.springlab.dto;
+
+public class BatchLoaderStatsResponse {
+    private String name;
+    private long windowMicros;
+    private int maxBatchSize;
+    private long batches;
+    private long keys;
+    private double meanBatchSize;
+    private long p50;
+    private long p90;
+    private long p99;
+    private long max;
+    //Llamadas a get que dejaron de esperar su lote
+    private long timeouts;
+
+    public BatchLoaderStatsResponse() {}
+
+    public BatchLoaderStatsResponse(String name, long windowMicros, int maxBatchSize, long batches, long keys,
+                                    double meanBatchSize, long p50, long p90, long p99, long max,
+                                    long timeouts) {
+        this.name = name;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.batches = batches;
+        this.keys = keys;
+        this.meanBatchSize = meanBatchSize;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+        this.timeouts = timeouts;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getWindowMicros() {
+        return windowMicros;
+    }
+
+    public void setWindowMicros(long windowMicros) {
+        this.windowMicros = windowMicros;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public void setBatches(long batches) {
+        this.batches = batches;
+    }
+
+    public long getKeys() {
+        return keys;
+    }
+
+    public void setKeys(long keys) {
+        this.keys = keys;
+    }
+
+    public double getMeanBatchSize() {
+        return meanBatchSize;
+    }
+
+    public void setMeanBatchSize(double meanBatchSize) {
+        this.meanBatchSize = meanBatchSize;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public void setP50(long p50) {
+        this.p50 = p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public void setP90(long p90) {
+        this.p90 = p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public void setP99(long p99) {
+        this.p99 = p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public void setMax(long max) {
+        this.max = max;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(long timeouts) {
+        this.timeouts = timeouts;
+    }
+}
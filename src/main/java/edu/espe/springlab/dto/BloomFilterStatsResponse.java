@@ -0,0 +1,123 @@
+package edu.espe.springlab.dto;
+
+public class BloomFilterStatsResponse {
+    private boolean ready;
+    private long expectedInsertions;
+    private long insertions;
+    private long bitSize;
+    private int hashFunctions;
+    private double targetFpp;
+    //Estimada por la cantidad de bits encendidos
+    private double estimatedFpp;
+    //Observada: "quizas existe" que la base desmintio / emails que no existian
+    private double observedFpp;
+    private long skippedQueries;
+    private long falsePositives;
+    private long rebuilds;
+
+    public BloomFilterStatsResponse() {}
+
+    public BloomFilterStatsResponse(boolean ready, long expectedInsertions, long insertions, long bitSize,
+                                    int hashFunctions, double targetFpp, double estimatedFpp, double observedFpp,
+                                    long skippedQueries, long falsePositives, long rebuilds) {
+        this.ready = ready;
+        this.expectedInsertions = expectedInsertions;
+        this.insertions = insertions;
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+        this.targetFpp = targetFpp;
+        this.estimatedFpp = estimatedFpp;
+        this.observedFpp = observedFpp;
+        this.skippedQueries = skippedQueries;
+        this.falsePositives = falsePositives;
+        this.rebuilds = rebuilds;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public long getInsertions() {
+        return insertions;
+    }
+
+    public void setInsertions(long insertions) {
+        this.insertions = insertions;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public void setBitSize(long bitSize) {
+        this.bitSize = bitSize;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public void setHashFunctions(int hashFunctions) {
+        this.hashFunctions = hashFunctions;
+    }
+
+    public double getTargetFpp() {
+        return targetFpp;
+    }
+
+    public void setTargetFpp(double targetFpp) {
+        this.targetFpp = targetFpp;
+    }
+
+    public double getEstimatedFpp() {
+        return estimatedFpp;
+    }
+
+    public void setEstimatedFpp(double estimatedFpp) {
+        this.estimatedFpp = estimatedFpp;
+    }
+
+    public double getObservedFpp() {
+        return observedFpp;
+    }
+
+    public void setObservedFpp(double observedFpp) {
+        this.observedFpp = observedFpp;
+    }
+
+    public long getSkippedQueries() {
+        return skippedQueries;
+    }
+
+    public void setSkippedQueries(long skippedQueries) {
+        this.skippedQueries = skippedQueries;
+    }
+
+    public long getFalsePositives() {
+        return falsePositives;
+    }
+
+    public void setFalsePositives(long falsePositives) {
+        this.falsePositives = falsePositives;
+    }
+
+    public long getRebuilds() {
+        return rebuilds;
+    }
+
+    public void setRebuilds(long rebuilds) {
+        this.rebuilds = rebuilds;
+    }
+}
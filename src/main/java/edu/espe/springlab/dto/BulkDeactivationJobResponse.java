@@ -0,0 +1,105 @@
+package edu.espe.springlab.dto;
+
+import java.time.Instant;
+
+//Estado y avance de un trabajo de desactivacion masiva
+public class BulkDeactivationJobResponse {
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private String jobId;
+    private Status status;
+    private long total;
+    private long processed;
+    private long deactivated;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+
+    public BulkDeactivationJobResponse() {}
+
+    public BulkDeactivationJobResponse(String jobId, Status status, long total, long processed, long deactivated,
+                                       Instant createdAt, Instant startedAt, Instant finishedAt, String error) {
+        this.jobId = jobId;
+        this.status = status;
+        this.total = total;
+        this.processed = processed;
+        this.deactivated = deactivated;
+        this.createdAt = createdAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getDeactivated() {
+        return deactivated;
+    }
+
+    public void setDeactivated(long deactivated) {
+        this.deactivated = deactivated;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
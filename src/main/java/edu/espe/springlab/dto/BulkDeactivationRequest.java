@@ -0,0 +1,35 @@
+package edu.espe.springlab.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//Desactivacion masiva: por lista de ids o por rango de fecha de nacimiento (uno de los dos)
+public class BulkDeactivationRequest {
+    private List<Long> ids;
+    private LocalDate birthDateFrom;
+    private LocalDate birthDateTo;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public LocalDate getBirthDateFrom() {
+        return birthDateFrom;
+    }
+
+    public void setBirthDateFrom(LocalDate birthDateFrom) {
+        this.birthDateFrom = birthDateFrom;
+    }
+
+    public LocalDate getBirthDateTo() {
+        return birthDateTo;
+    }
+
+    public void setBirthDateTo(LocalDate birthDateTo) {
+        this.birthDateTo = birthDateTo;
+    }
+}
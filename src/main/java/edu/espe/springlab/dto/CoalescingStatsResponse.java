@@ -0,0 +1,69 @@
+package edu.espe.springlab.dto;
+
+public class CoalescingStatsResponse {
+    private String name;
+    private long calls;
+    private long executions;
+    private long collapsed;
+    private long timeouts;
+    private int inFlight;
+
+    public CoalescingStatsResponse() {}
+
+    public CoalescingStatsResponse(String name, long calls, long executions, long collapsed, long timeouts, int inFlight) {
+        this.name = name;
+        this.calls = calls;
+        this.executions = executions;
+        this.collapsed = collapsed;
+        this.timeouts = timeouts;
+        this.inFlight = inFlight;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public void setExecutions(long executions) {
+        this.executions = executions;
+    }
+
+    public long getCollapsed() {
+        return collapsed;
+    }
+
+    public void setCollapsed(long collapsed) {
+        this.collapsed = collapsed;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(long timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+}
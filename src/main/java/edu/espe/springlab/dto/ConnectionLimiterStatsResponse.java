@@ -0,0 +1,91 @@
+package edu.espe.springlab.dto;
+
+//Estado del limitador de conexiones y tiempos de espera en cola (ms)
+public class ConnectionLimiterStatsResponse {
+    private int permits;
+    private int available;
+    private int waiting;
+    private long acquired;
+    private long timeouts;
+    private double meanWaitMs;
+    private double p99WaitMs;
+    private double maxWaitMs;
+
+    public ConnectionLimiterStatsResponse() {}
+
+    public ConnectionLimiterStatsResponse(int permits, int available, int waiting, long acquired, long timeouts,
+                                          double meanWaitMs, double p99WaitMs, double maxWaitMs) {
+        this.permits = permits;
+        this.available = available;
+        this.waiting = waiting;
+        this.acquired = acquired;
+        this.timeouts = timeouts;
+        this.meanWaitMs = meanWaitMs;
+        this.p99WaitMs = p99WaitMs;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public void setPermits(int permits) {
+        this.permits = permits;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(int available) {
+        this.available = available;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(int waiting) {
+        this.waiting = waiting;
+    }
+
+    public long getAcquired() {
+        return acquired;
+    }
+
+    public void setAcquired(long acquired) {
+        this.acquired = acquired;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(long timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public double getMeanWaitMs() {
+        return meanWaitMs;
+    }
+
+    public void setMeanWaitMs(double meanWaitMs) {
+        this.meanWaitMs = meanWaitMs;
+    }
+
+    public double getP99WaitMs() {
+        return p99WaitMs;
+    }
+
+    public void setP99WaitMs(double p99WaitMs) {
+        this.p99WaitMs = p99WaitMs;
+    }
+
+    public double getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(double maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+}
@@ -0,0 +1,39 @@
+package edu.espe.springlab.dto;
+
+public class DemographicBucket {
+    private String label;
+    private long activos;
+    private long inactivos;
+
+    public DemographicBucket() {}
+
+    public DemographicBucket(String label, long activos, long inactivos) {
+        this.label = label;
+        this.activos = activos;
+        this.inactivos = inactivos;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getActivos() {
+        return activos;
+    }
+
+    public void setActivos(long activos) {
+        this.activos = activos;
+    }
+
+    public long getInactivos() {
+        return inactivos;
+    }
+
+    public void setInactivos(long inactivos) {
+        this.inactivos = inactivos;
+    }
+}
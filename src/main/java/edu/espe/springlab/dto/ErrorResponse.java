@@ -0,0 +1,46 @@
+package edu.espe.springlab.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+//Cuerpo estandar de error; clase fija en vez de HashMap para serializar sin reflexion de mapas
+@JsonPropertyOrder({"timestamp", "status", "error", "message", "errors"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorResponse {
+    private final LocalDateTime timestamp;
+    private final int status;
+    private final String error;
+    private final String message;
+    private final Map<String, String> errors;
+
+    public ErrorResponse(LocalDateTime timestamp, int status, String error, String message, Map<String, String> errors) {
+        this.timestamp = timestamp;
+        this.status = status;
+        this.error = error;
+        this.message = message;
+        this.errors = errors;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,80 @@
+package edu.espe.springlab.dto;
+
+public class IngestionStatsResponse {
+    private int capacity;
+    private int queued;
+    private long accepted;
+    private long rejected;
+    private long batches;
+    private long processed;
+    private long maxBatchSize;
+
+    public IngestionStatsResponse() {}
+
+    public IngestionStatsResponse(int capacity, int queued, long accepted, long rejected, long batches, long processed,
+                                  long maxBatchSize) {
+        this.capacity = capacity;
+        this.queued = queued;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.batches = batches;
+        this.processed = processed;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(long accepted) {
+        this.accepted = accepted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public void setBatches(long batches) {
+        this.batches = batches;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(long maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+}
@@ -0,0 +1,85 @@
+package edu.espe.springlab.dto;
+
+import java.time.Instant;
+
+//Resultado de un alta asincrona, consultable por su id de seguimiento
+public class IngestionStatusResponse {
+    public enum Status { QUEUED, CREATED, CONFLICT, INVALID, FAILED }
+
+    private String trackingId;
+    private Status status;
+    private Long studentId;
+    private String email;
+    private String message;
+    private Instant queuedAt;
+    private Instant completedAt;
+
+    public IngestionStatusResponse() {}
+
+    public IngestionStatusResponse(String trackingId, Status status, Long studentId, String email, String message,
+                                   Instant queuedAt, Instant completedAt) {
+        this.trackingId = trackingId;
+        this.status = status;
+        this.studentId = studentId;
+        this.email = email;
+        this.message = message;
+        this.queuedAt = queuedAt;
+        this.completedAt = completedAt;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Instant getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(Instant queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,91 @@
+package edu.espe.springlab.dto;
+
+//Percentiles de latencia de una ruta, en milisegundos
+public class RouteLatencyResponse {
+    private String route;
+    private long count;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+
+    public RouteLatencyResponse() {}
+
+    public RouteLatencyResponse(String route, long count, double meanMs, double p50Ms, double p90Ms,
+                                double p99Ms, double p999Ms, double maxMs) {
+        this.route = route;
+        this.count = count;
+        this.meanMs = meanMs;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p99Ms = p99Ms;
+        this.p999Ms = p999Ms;
+        this.maxMs = maxMs;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+
+    public void setMeanMs(double meanMs) {
+        this.meanMs = meanMs;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public void setP50Ms(double p50Ms) {
+        this.p50Ms = p50Ms;
+    }
+
+    public double getP90Ms() {
+        return p90Ms;
+    }
+
+    public void setP90Ms(double p90Ms) {
+        this.p90Ms = p90Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public void setP99Ms(double p99Ms) {
+        this.p99Ms = p99Ms;
+    }
+
+    public double getP999Ms() {
+        return p999Ms;
+    }
+
+    public void setP999Ms(double p999Ms) {
+        this.p999Ms = p999Ms;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(double maxMs) {
+        this.maxMs = maxMs;
+    }
+}
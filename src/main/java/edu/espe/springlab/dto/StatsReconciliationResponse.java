@@ -0,0 +1,75 @@
+package edu.espe.springlab.dto;
+
+import java.time.LocalDateTime;
+
+//Resultado de comparar los contadores en memoria contra la base de datos
+public class StatsReconciliationResponse {
+    private LocalDateTime reconciledAt;
+    //Valores segun la base de datos
+    private StudentStatsResponse database;
+    //Diferencia corregida: base de datos - contador en memoria
+    private long totalDrift;
+    private long activosDrift;
+    private long inactivosDrift;
+    private long reconciliations;
+
+    public StatsReconciliationResponse() {}
+
+    public StatsReconciliationResponse(LocalDateTime reconciledAt, StudentStatsResponse database, long totalDrift,
+                                       long activosDrift, long inactivosDrift, long reconciliations) {
+        this.reconciledAt = reconciledAt;
+        this.database = database;
+        this.totalDrift = totalDrift;
+        this.activosDrift = activosDrift;
+        this.inactivosDrift = inactivosDrift;
+        this.reconciliations = reconciliations;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+
+    public StudentStatsResponse getDatabase() {
+        return database;
+    }
+
+    public void setDatabase(StudentStatsResponse database) {
+        this.database = database;
+    }
+
+    public long getTotalDrift() {
+        return totalDrift;
+    }
+
+    public void setTotalDrift(long totalDrift) {
+        this.totalDrift = totalDrift;
+    }
+
+    public long getActivosDrift() {
+        return activosDrift;
+    }
+
+    public void setActivosDrift(long activosDrift) {
+        this.activosDrift = activosDrift;
+    }
+
+    public long getInactivosDrift() {
+        return inactivosDrift;
+    }
+
+    public void setInactivosDrift(long inactivosDrift) {
+        this.inactivosDrift = inactivosDrift;
+    }
+
+    public long getReconciliations() {
+        return reconciliations;
+    }
+
+    public void setReconciliations(long reconciliations) {
+        this.reconciliations = reconciliations;
+    }
+}
@@ -0,0 +1,62 @@
+package edu.espe.springlab.dto;
+
+public class StudentBatchItemResult {
+    public enum Status { CREATED, CONFLICT, INVALID }
+
+    //Posicion del elemento en el arreglo recibido
+    private int index;
+    private Status status;
+    private Long id;
+    private String email;
+    private String message;
+
+    public StudentBatchItemResult() {}
+
+    public StudentBatchItemResult(int index, Status status, Long id, String email, String message) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.email = email;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,55 @@
+package edu.espe.springlab.dto;
+
+import java.util.List;
+
+public class StudentBatchResponse {
+    private int created;
+    private int conflicts;
+    private int invalid;
+    private List<StudentBatchItemResult> items;
+
+    public StudentBatchResponse() {}
+
+    public StudentBatchResponse(List<StudentBatchItemResult> items) {
+        this.items = items;
+        for (StudentBatchItemResult item : items) {
+            switch (item.getStatus()) {
+                case CREATED -> created++;
+                case CONFLICT -> conflicts++;
+                case INVALID -> invalid++;
+            }
+        }
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(int conflicts) {
+        this.conflicts = conflicts;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public void setInvalid(int invalid) {
+        this.invalid = invalid;
+    }
+
+    public List<StudentBatchItemResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StudentBatchItemResult> items) {
+        this.items = items;
+    }
+}
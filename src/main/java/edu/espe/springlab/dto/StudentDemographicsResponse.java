@@ -0,0 +1,63 @@
+package edu.espe.springlab.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class StudentDemographicsResponse {
+    private LocalDate asOf;
+    private long total;
+    private List<DemographicBucket> ageBuckets;
+    private List<DemographicBucket> birthYears;
+    private DemographicBucket unknownBirthDate;
+
+    public StudentDemographicsResponse() {}
+
+    public StudentDemographicsResponse(LocalDate asOf, long total, List<DemographicBucket> ageBuckets,
+                                       List<DemographicBucket> birthYears, DemographicBucket unknownBirthDate) {
+        this.asOf = asOf;
+        this.total = total;
+        this.ageBuckets = ageBuckets;
+        this.birthYears = birthYears;
+        this.unknownBirthDate = unknownBirthDate;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<DemographicBucket> getAgeBuckets() {
+        return ageBuckets;
+    }
+
+    public void setAgeBuckets(List<DemographicBucket> ageBuckets) {
+        this.ageBuckets = ageBuckets;
+    }
+
+    public List<DemographicBucket> getBirthYears() {
+        return birthYears;
+    }
+
+    public void setBirthYears(List<DemographicBucket> birthYears) {
+        this.birthYears = birthYears;
+    }
+
+    public DemographicBucket getUnknownBirthDate() {
+        return unknownBirthDate;
+    }
+
+    public void setUnknownBirthDate(DemographicBucket unknownBirthDate) {
+        this.unknownBirthDate = unknownBirthDate;
+    }
+}
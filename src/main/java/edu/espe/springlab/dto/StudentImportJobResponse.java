@@ -0,0 +1,105 @@
+package edu.espe.springlab.dto;
+
+import java.time.Instant;
+
+//Avance y resultado de una importacion; los rechazos se descargan aparte
+public class StudentImportJobResponse {
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private String jobId;
+    private Status status;
+    private String format;
+    private long processed;
+    private long imported;
+    private long rejected;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+
+    public StudentImportJobResponse() {}
+
+    public StudentImportJobResponse(String jobId, Status status, String format, long processed, long imported, long rejected,
+                                    Instant startedAt, Instant finishedAt, String error) {
+        this.jobId = jobId;
+        this.status = status;
+        this.format = format;
+        this.processed = processed;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
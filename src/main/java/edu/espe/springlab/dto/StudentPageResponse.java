@@ -0,0 +1,55 @@
+package edu.espe.springlab.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+public class StudentPageResponse {
+    private List<StudentResponse> items;
+    //Token para pedir la siguiente pagina (null si es la ultima)
+    private String nextCursor;
+    private int limit;
+    //Huella de los (id, version) de la pagina; el controlador la usa como ETag
+    @JsonIgnore
+    private long fingerprint;
+
+    public StudentPageResponse() {}
+
+    public StudentPageResponse(List<StudentResponse> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    public List<StudentResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StudentResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+}
@@ -1,5 +1,7 @@
 package edu.espe.springlab.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDate;
 
 public class StudentResponse {
@@ -8,6 +10,21 @@ public class StudentResponse {
     private String email;
     private LocalDate birthDate;
     private Boolean active;
+    //Viaja en el header ETag, no en el cuerpo
+    @JsonIgnore
+    private long version;
+
+    public StudentResponse() {}
+
+    //Usado por las consultas con proyeccion (select new ...StudentResponse(...))
+    public StudentResponse(Long id, String fullName, String email, LocalDate birthDate, Boolean active, long version) {
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+        this.birthDate = birthDate;
+        this.active = active;
+        this.version = version;
+    }
 
     public Long getId() {
         return id;
@@ -48,4 +65,12 @@ public class StudentResponse {
     public void setActive(Boolean active) {
         this.active = active;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,141 @@
+package edu.espe.springlab.index;
+
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.dto.BloomFilterStatsResponse;
+import edu.espe.springlab.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom con los emails registrados, para evitar existsByEmail en la mayoria de altas.
+ * Solo responde "seguro que no existe" o "quizas existe"; el indice unico de la tabla
+ * sigue siendo quien decide. Mientras no esta construido responde siempre "quizas".
+ */
+@Component
+public class EmailBloomFilter {
+    private final StudentRepository repo;
+    private final TransactionTemplate readOnlyTx;
+    private final double targetFpp;
+    private final double maxFpp;
+    private final long minCapacity;
+
+    private volatile BloomFilter current;
+    //Filtro en construccion: recibe tambien las altas mientras se recorre la tabla
+    private volatile BloomFilter next;
+
+    private final AtomicLong skippedQueries = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+
+    public EmailBloomFilter(StudentRepository repo, PlatformTransactionManager transactionManager,
+                            @Value("${app.bloom.emails.fpp:0.01}") double targetFpp,
+                            @Value("${app.bloom.emails.max-fpp:0.05}") double maxFpp,
+                            @Value("${app.bloom.emails.min-capacity:100000}") long minCapacity) {
+        this.repo = repo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.targetFpp = targetFpp;
+        this.maxFpp = maxFpp;
+        this.minCapacity = minCapacity;
+    }
+
+    //false: el email seguro no esta registrado y se puede omitir la consulta
+    public boolean mightContain(String email) {
+        BloomFilter filter = current;
+        if (filter == null || next != null) {
+            return true;
+        }
+        boolean maybe = filter.mightContain(normalize(email));
+        if (!maybe) {
+            skippedQueries.incrementAndGet();
+        }
+        return maybe;
+    }
+
+    //El servicio avisa cuando el filtro dijo "quizas" pero la base dijo que no
+    public void recordFalsePositive() {
+        falsePositives.incrementAndGet();
+    }
+
+    //Se agrega de inmediato (sin esperar el commit): un email de mas solo produce un falso positivo
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getType() == StudentChangedEvent.Type.DELETED || event.getEmail() == null) {
+            return;
+        }
+        put(event.getEmail());
+    }
+
+    private void put(String email) {
+        String key = normalize(email);
+        BloomFilter building = next;
+        if (building != null) {
+            building.put(key);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    //Reconstruye con capacidad para el doble de los registros actuales
+    public synchronized void rebuild() {
+        long rows = repo.count();
+        BloomFilter building = new BloomFilter(Math.max(minCapacity, rows * 2), targetFpp);
+        next = building;
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<String> emails = repo.streamAllEmails()) {
+                    emails.forEach(email -> building.put(normalize(email)));
+                }
+            });
+            current = building;
+            rebuilds.incrementAndGet();
+            falsePositives.set(0);
+            skippedQueries.set(0);
+        } finally {
+            next = null;
+        }
+    }
+
+    //Si el filtro se saturo (fpp estimada sobre el maximo) se reconstruye mas grande
+    @Scheduled(fixedDelayString = "${app.bloom.emails.check-interval:PT5M}",
+            initialDelayString = "${app.bloom.emails.check-interval:PT5M}")
+    public void rebuildIfSaturated() {
+        BloomFilter filter = current;
+        if (filter != null && filter.estimatedFpp() > maxFpp) {
+            rebuild();
+        }
+    }
+
+    public BloomFilterStatsResponse stats() {
+        BloomFilter filter = current;
+        long skipped = skippedQueries.get();
+        long fp = falsePositives.get();
+        double observed = skipped + fp == 0 ? 0.0 : (double) fp / (skipped + fp);
+        if (filter == null) {
+            return new BloomFilterStatsResponse(false, 0, 0, 0, 0, targetFpp, 1.0, observed, skipped, fp, rebuilds.get());
+        }
+        return new BloomFilterStatsResponse(true, filter.getExpectedInsertions(), filter.getInsertions(),
+                filter.getBitSize(), filter.getHashFunctions(), targetFpp, filter.estimatedFpp(), observed,
+                skipped, fp, rebuilds.get());
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
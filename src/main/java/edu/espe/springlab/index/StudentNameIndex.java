@@ -0,0 +1,115 @@
+package edu.espe.springlab.index;
+
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.repository.StudentRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Indice de trigramas sobre Student.fullName para la busqueda por nombre parcial.
+ * Entrega ids candidatos; los datos se siguen leyendo de la base.
+ * Altas y cambios suman su nombre apenas JPA los escribe, sin quitar el anterior (a lo sumo
+ * sobran candidatos, que luego no aparecen en la base). El nombre anterior y las bajas se quitan
+ * al confirmarse; un rollback solo descarta el nombre agregado.
+ */
+@Component
+public class StudentNameIndex {
+    private final StudentRepository repo;
+    private final TransactionTemplate readOnlyTx;
+
+    private volatile TrigramIndex current;
+    private volatile TrigramIndex next;
+
+    public StudentNameIndex(StudentRepository repo, PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    //Vacio si el indice aun no esta listo o la consulta es muy corta: usar la base
+    public Optional<List<Long>> search(String query) {
+        TrigramIndex index = current;
+        if (index == null || query == null || query.length() < TrigramIndex.GRAM) {
+            return Optional.empty();
+        }
+        return Optional.of(index.search(query));
+    }
+
+    @EventListener
+    public void onStudentWritten(StudentChangedEvent event) {
+        if (hasName(event)) {
+            apply(index -> index.add(event.getId(), event.getFullName()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentCommitted(StudentChangedEvent event) {
+        if (event.getType() == StudentChangedEvent.Type.DELETED && event.getId() != null) {
+            apply(index -> index.remove(event.getId()));
+        } else if (hasName(event)) {
+            apply(index -> index.put(event.getId(), event.getFullName()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onStudentRolledBack(StudentChangedEvent event) {
+        if (hasName(event)) {
+            apply(index -> index.discard(event.getId(), event.getFullName()));
+        }
+    }
+
+    private static boolean hasName(StudentChangedEvent event) {
+        return event.getType() != StudentChangedEvent.Type.DELETED && event.getId() != null
+                && event.getFullName() != null;
+    }
+
+    private void apply(Consumer<TrigramIndex> change) {
+        TrigramIndex building = next;
+        if (building != null) {
+            change.accept(building);
+        }
+        TrigramIndex index = current;
+        if (index != null) {
+            change.accept(index);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    //Reconstruccion periodica: corrige cambios revertidos o hechos por fuera de JPA
+    @Scheduled(fixedDelayString = "${app.search.index-rebuild-interval:PT30M}",
+            initialDelayString = "${app.search.index-rebuild-interval:PT30M}")
+    public synchronized void rebuild() {
+        TrigramIndex building = new TrigramIndex();
+        next = building;
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = repo.streamAllNames()) {
+                    rows.forEach(row -> building.put(((Number) row[0]).longValue(), (String) row[1]));
+                }
+            });
+            current = building;
+        } finally {
+            next = null;
+        }
+    }
+
+    public int size() {
+        TrigramIndex index = current;
+        return index == null ? 0 : index.size();
+    }
+}
@@ -0,0 +1,106 @@
+package edu.espe.springlab.index;
+
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.dto.StudentSuggestion;
+import edu.espe.springlab.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Autocompletado de nombres servido solo desde memoria (SuggestionTrie).
+ * Refleja los cambios confirmados; el orden de los resultados es configurable.
+ */
+@Component
+public class StudentSuggestIndex {
+    private final StudentRepository repo;
+    private final TransactionTemplate readOnlyTx;
+    private final int maxLimit;
+    private final Comparator<SuggestionTrie.Entry> rank;
+
+    private volatile SuggestionTrie current;
+    private volatile SuggestionTrie next;
+
+    public StudentSuggestIndex(StudentRepository repo, PlatformTransactionManager transactionManager,
+                               @Value("${app.suggest.max-limit:20}") int maxLimit,
+                               @Value("${app.suggest.rank:name}") String rank) {
+        this.repo = repo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.maxLimit = maxLimit;
+        this.rank = switch (rank) {
+            case "name" -> SuggestionTrie.byName();
+            case "recent" -> SuggestionTrie.byRecent();
+            default -> throw new IllegalArgumentException("app.suggest.rank debe ser name o recent: " + rank);
+        };
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public List<StudentSuggestion> suggest(String prefix, int limit) {
+        SuggestionTrie trie = current;
+        if (trie == null) {
+            return List.of();
+        }
+        return trie.suggest(prefix, limit).stream()
+                .map(e -> new StudentSuggestion(e.getId(), e.getName()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getId() == null) {
+            return;
+        }
+        if (event.getType() == StudentChangedEvent.Type.DELETED) {
+            apply(trie -> trie.remove(event.getId()));
+        } else if (event.getFullName() != null) {
+            apply(trie -> trie.put(event.getId(), event.getFullName()));
+        }
+    }
+
+    private void apply(Consumer<SuggestionTrie> change) {
+        SuggestionTrie building = next;
+        if (building != null) {
+            change.accept(building);
+        }
+        SuggestionTrie trie = current;
+        if (trie != null) {
+            change.accept(trie);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.index-rebuild-interval:PT30M}",
+            initialDelayString = "${app.search.index-rebuild-interval:PT30M}")
+    public synchronized void rebuild() {
+        SuggestionTrie building = new SuggestionTrie(maxLimit, rank);
+        next = building;
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = repo.streamAllNames()) {
+                    rows.forEach(row -> building.put(((Number) row[0]).longValue(), (String) row[1]));
+                }
+            });
+            current = building;
+        } finally {
+            next = null;
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package edu.espe.springlab.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie de prefijos para autocompletar nombres. Se indexa el nombre completo y cada
+ * palabra siguiente ("ana maria lopez", "maria lopez", "lopez"). Es un trie compacto
+ * (radix): las cadenas de nodos con un solo hijo se guardan como una arista con texto,
+ * asi todo nodo (salvo la raiz) es terminal o bifurca y solo esos guardan, ya ordenados,
+ * sus mejores k resultados. Una consulta solo recorre el prefijo.
+ */
+public class SuggestionTrie {
+
+    public static final class Entry {
+        private final long id;
+        private final String name;
+        private final String[] keys;
+
+        Entry(long id, String name) {
+            this.id = id;
+            this.name = name;
+            this.keys = keysOf(name);
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final char[] NO_FIRSTS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final class Node {
+        //Texto de la arista desde el padre (vacio solo en la raiz)
+        String label;
+        //Primer caracter de la arista de cada hijo, ordenado (busqueda binaria)
+        char[] firsts = NO_FIRSTS;
+        Node[] children = NO_CHILDREN;
+        //Entradas cuya clave termina en este nodo
+        Entry[] terminals = NO_ENTRIES;
+        //Mejores k entradas del subarbol, ya ordenadas
+        Entry[] top = NO_ENTRIES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(firsts, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void addChild(Node child) {
+            char c = child.label.charAt(0);
+            int at = -Arrays.binarySearch(firsts, c) - 1;
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newFirsts[at] = c;
+            newChildren[at] = child;
+            System.arraycopy(firsts, at, newFirsts, at + 1, firsts.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        //El reemplazo empieza con el mismo caracter que el hijo reemplazado
+        void replaceChild(Node replacement) {
+            children[Arrays.binarySearch(firsts, replacement.label.charAt(0))] = replacement;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(firsts, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(firsts, i + 1, newFirsts, i, firsts.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+    }
+
+    private final int k;
+    private final Comparator<Entry> rank;
+    private final Node root = new Node("");
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SuggestionTrie(int k, Comparator<Entry> rank) {
+        this.k = k;
+        this.rank = rank;
+    }
+
+    //Orden alfabetico (sin mayusculas) y luego por id
+    public static Comparator<Entry> byName() {
+        return Comparator.comparing((Entry e) -> e.name.toLowerCase(Locale.ROOT)).thenComparingLong(e -> e.id);
+    }
+
+    //Los mas recientes primero (los ids crecen con el tiempo)
+    public static Comparator<Entry> byRecent() {
+        return Comparator.comparingLong((Entry e) -> e.id).reversed();
+    }
+
+    public void put(long id, String name) {
+        if (name == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(id);
+            if (previous != null) {
+                if (previous.name.equals(name)) {
+                    return;
+                }
+                removeEntry(previous);
+            }
+            Entry entry = new Entry(id, name);
+            entries.put(id, entry);
+            for (String key : entry.keys) {
+                insert(key, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                removeEntry(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Entry> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                node = node.child(key.charAt(i));
+                if (node == null) {
+                    return List.of();
+                }
+                int matched = commonPrefix(node.label, key, i);
+                if (matched < node.label.length() && i + matched < key.length()) {
+                    return List.of();
+                }
+                //Si el prefijo termina a mitad de la arista, el subarbol es el del nodo de abajo
+                i += matched;
+            }
+            int n = Math.min(limit, node.top.length);
+            return List.of(Arrays.copyOf(node.top, n));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    //Numero de nodos (sin la raiz), para medir lo compacto del arbol
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return count(root) - 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int count(Node node) {
+        int total = 1;
+        for (Node child : node.children) {
+            total += count(child);
+        }
+        return total;
+    }
+
+    private void insert(String key, Entry entry) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                //El resto de la clave es una sola arista hasta una hoja nueva
+                Node leaf = new Node(key.substring(i));
+                leaf.terminals = new Entry[]{entry};
+                leaf.top = new Entry[]{entry};
+                node.addChild(leaf);
+                return;
+            }
+            int matched = commonPrefix(child.label, key, i);
+            if (matched < child.label.length()) {
+                //La clave se separa a mitad de la arista: se parte con un nodo intermedio
+                Node middle = new Node(child.label.substring(0, matched));
+                child.label = child.label.substring(matched);
+                middle.addChild(child);
+                middle.top = child.top;
+                node.replaceChild(middle);
+                child = middle;
+            }
+            offer(child, entry);
+            node = child;
+            i += matched;
+        }
+        node.terminals = append(node.terminals, entry);
+    }
+
+    private void removeEntry(Entry entry) {
+        if (entries.get(entry.id) == entry) {
+            entries.remove(entry.id);
+        }
+        for (String key : entry.keys) {
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            int i = 0;
+            while (node != null && i < key.length()) {
+                node = node.child(key.charAt(i));
+                if (node != null) {
+                    if (!key.startsWith(node.label, i)) {
+                        node = null;
+                    } else {
+                        path.add(node);
+                        i += node.label.length();
+                    }
+                }
+            }
+            if (node == null) {
+                continue;
+            }
+            node.terminals = without(node.terminals, entry);
+            //De abajo hacia arriba: podar hojas vacias, fusionar nodos de un solo hijo y recalcular top
+            for (int depth = path.size() - 1; depth >= 1; depth--) {
+                Node current = path.get(depth);
+                Node parent = path.get(depth - 1);
+                if (current.terminals.length == 0 && current.children.length == 0) {
+                    parent.removeChild(current.label.charAt(0));
+                } else if (current.terminals.length == 0 && current.children.length == 1) {
+                    Node only = current.children[0];
+                    only.label = current.label + only.label;
+                    parent.replaceChild(only);
+                } else if (contains(current.top, entry)) {
+                    recomputeTop(current);
+                }
+            }
+        }
+    }
+
+    //Caracteres iguales entre label y key desde la posicion from
+    private static int commonPrefix(String label, String key, int from) {
+        int max = Math.min(label.length(), key.length() - from);
+        int n = 0;
+        while (n < max && label.charAt(n) == key.charAt(from + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    //El top de un nodo sale de sus propias entradas y del top de cada hijo
+    private void recomputeTop(Node node) {
+        Set<Entry> candidates = new LinkedHashSet<>(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        List<Entry> sorted = new ArrayList<>(candidates);
+        sorted.sort(rank);
+        node.top = sorted.subList(0, Math.min(k, sorted.size())).toArray(NO_ENTRIES);
+    }
+
+    private void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        if (contains(top, entry)) {
+            return;
+        }
+        if (top.length == k && rank.compare(entry, top[k - 1]) >= 0) {
+            return;
+        }
+        int at = 0;
+        while (at < top.length && rank.compare(top[at], entry) < 0) {
+            at++;
+        }
+        int size = Math.min(k, top.length + 1);
+        Entry[] updated = new Entry[size];
+        System.arraycopy(top, 0, updated, 0, at);
+        updated[at] = entry;
+        System.arraycopy(top, at, updated, at + 1, size - at - 1);
+        node.top = updated;
+    }
+
+    private static boolean contains(Entry[] list, Entry entry) {
+        for (Entry e : list) {
+            if (e == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Entry[] append(Entry[] list, Entry entry) {
+        Entry[] updated = Arrays.copyOf(list, list.length + 1);
+        updated[list.length] = entry;
+        return updated;
+    }
+
+    private static Entry[] without(Entry[] list, Entry entry) {
+        int count = 0;
+        for (Entry e : list) {
+            if (e != entry) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return NO_ENTRIES;
+        }
+        Entry[] updated = new Entry[count];
+        int i = 0;
+        for (Entry e : list) {
+            if (e != entry) {
+                updated[i++] = e;
+            }
+        }
+        return updated;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    //Nombre completo y cada sufijo que empieza en una palabra, sin repetidos
+    private static String[] keysOf(String name) {
+        String value = normalize(name).replaceAll("\\s+", " ");
+        Set<String> keys = new LinkedHashSet<>();
+        if (!value.isEmpty()) {
+            keys.add(value);
+        }
+        for (int i = value.indexOf(' '); i >= 0; i = value.indexOf(' ', i + 1)) {
+            if (i + 1 < value.length()) {
+                keys.add(value.substring(i + 1));
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+}
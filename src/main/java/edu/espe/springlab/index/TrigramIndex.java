@@ -0,0 +1,218 @@
+package edu.espe.springlab.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indice invertido de trigramas (subcadenas de 3 caracteres, sin distinguir mayusculas).
+ * Para buscar una subcadena se recorre la lista de ids del trigrama menos frecuente
+ * y se verifica el texto completo de cada candidato.
+ * Un id puede tener ademas textos pendientes (escritos por una transaccion sin confirmar):
+ * se buscan junto al confirmado hasta que put los reemplaza o discard los descarta.
+ */
+public class TrigramIndex {
+    public static final int GRAM = 3;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    //Texto indexado (en minusculas) por id
+    private final Map<Long, String> texts = new HashMap<>();
+    //Textos aun sin confirmar por id (normalmente vacio)
+    private final Map<Long, Set<String>> pending = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    //Agrega o reemplaza el texto confirmado de un id; descarta sus textos pendientes
+    public void put(long id, String text) {
+        String value = normalize(text);
+        lock.writeLock().lock();
+        try {
+            Set<Long> oldGrams = gramsOf(id);
+            texts.put(id, value);
+            pending.remove(id);
+            reindex(id, oldGrams, grams(value));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Suma un texto sin confirmar: el id se encuentra por este y por el que ya tenia
+    public void add(long id, String text) {
+        String value = normalize(text);
+        lock.writeLock().lock();
+        try {
+            if (value.equals(texts.get(id))) {
+                return;
+            }
+            Set<Long> oldGrams = gramsOf(id);
+            if (pending.computeIfAbsent(id, k -> new HashSet<>(2)).add(value)) {
+                reindex(id, oldGrams, gramsOf(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Quita un texto pendiente que no se confirmo (rollback)
+    public void discard(long id, String text) {
+        String value = normalize(text);
+        lock.writeLock().lock();
+        try {
+            Set<String> values = pending.get(id);
+            if (values == null || !values.contains(value)) {
+                return;
+            }
+            Set<Long> oldGrams = gramsOf(id);
+            values.remove(value);
+            if (values.isEmpty()) {
+                pending.remove(id);
+            }
+            reindex(id, oldGrams, gramsOf(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Set<Long> oldGrams = gramsOf(id);
+            texts.remove(id);
+            pending.remove(id);
+            reindex(id, oldGrams, Set.of());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Trigramas de todos los textos del id (confirmado y pendientes)
+    private Set<Long> gramsOf(long id) {
+        String text = texts.get(id);
+        Set<Long> result = text == null ? new HashSet<>() : grams(text);
+        Set<String> extra = pending.get(id);
+        if (extra != null) {
+            extra.forEach(value -> result.addAll(grams(value)));
+        }
+        return result;
+    }
+
+    private void reindex(long id, Set<Long> oldGrams, Set<Long> newGrams) {
+        for (Long gram : oldGrams) {
+            if (!newGrams.contains(gram)) {
+                removePosting(gram, id);
+            }
+        }
+        for (Long gram : newGrams) {
+            if (!oldGrams.contains(gram)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        }
+    }
+
+    //Ids cuyo texto contiene la consulta (la consulta debe tener al menos GRAM caracteres)
+    public List<Long> search(String query) {
+        String value = normalize(query);
+        if (value.length() < GRAM) {
+            throw new IllegalArgumentException("La consulta debe tener al menos " + GRAM + " caracteres");
+        }
+        lock.readLock().lock();
+        try {
+            Postings rarest = null;
+            for (Long gram : grams(value)) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                if (rarest == null || list.size < rarest.size) {
+                    rarest = list;
+                }
+            }
+            List<Long> result = new ArrayList<>();
+            for (int i = 0; i < rarest.size; i++) {
+                long id = rarest.ids[i];
+                if (matches(id, value)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matches(long id, String value) {
+        String text = texts.get(id);
+        if (text != null && text.contains(value)) {
+            return true;
+        }
+        Set<String> extra = pending.get(id);
+        return extra != null && extra.stream().anyMatch(t -> t.contains(value));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int gramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removePosting(Long gram, long id) {
+        Postings list = postings.get(gram);
+        if (list != null && list.remove(id) && list.size == 0) {
+            postings.remove(gram);
+        }
+    }
+
+    //Cada trigrama se empaqueta en un long: 3 chars de 16 bits
+    private static Set<Long> grams(String value) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            result.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return result;
+    }
+
+    //Lista de ids en un arreglo primitivo (sin boxing por cada entrada)
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
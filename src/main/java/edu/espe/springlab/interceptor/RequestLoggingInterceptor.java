@@ -1,24 +1,74 @@
 package edu.espe.springlab.interceptor;
 
+import edu.espe.springlab.metrics.LatencyRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class RequestLoggingInterceptor implements HandlerInterceptor {
+public class RequestLoggingInterceptor implements HandlerInterceptor, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
+    private static final String START_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".t0";
+
+    private final LatencyRegistry latencies;
+    private final boolean logEnabled;
+    private final double logSampleRate;
+    //Un solo hilo con cola acotada: si se llena, las lineas de log se descartan
+    private final ThreadPoolExecutor logExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1024), r -> {
+                Thread t = new Thread(r, "request-log");
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public RequestLoggingInterceptor(LatencyRegistry latencies,
+                                     @Value("${app.request-log.enabled:false}") boolean logEnabled,
+                                     @Value("${app.request-log.sample-rate:0.01}") double logSampleRate) {
+        this.latencies = latencies;
+        this.logEnabled = logEnabled;
+        this.logSampleRate = logSampleRate;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        request.setAttribute("t0", System.currentTimeMillis());
-        System.out.println("preHandle -> " + request.getMethod() + " " + request.getRequestURI());
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
         return true;
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-        Long t0 = (Long) request.getAttribute("t0");
-        long elapsed = (t0 == null ? 0 : System.currentTimeMillis() - t0);
-        response.setHeader("X-Elapsed-Time", elapsed + "ms");
-        System.out.println("afterCompletion -> status = " + response.getStatus() + " tiempo = " + elapsed + " ms");
+        Long t0 = (Long) request.getAttribute(START_ATTRIBUTE);
+        long elapsedNanos = (t0 == null ? 0 : System.nanoTime() - t0);
+        long elapsedMs = elapsedNanos / 1_000_000;
+        response.setHeader("X-Elapsed-Time", elapsedMs + "ms");
+
+        //Se agrupa por patron de la ruta (no por URI) para no crear un histograma por id
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String method = request.getMethod();
+        int status = response.getStatus();
+        String key = method + " " + (pattern == null ? "unmatched" : pattern) + " " + (status / 100) + "xx";
+        latencies.record(key, elapsedNanos);
+
+        //Log opcional y muestreado; se escribe en otro hilo para no bloquear la peticion
+        if (logEnabled && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            String uri = request.getRequestURI();
+            logExecutor.execute(() -> log.info("{} {} -> status = {} tiempo = {} ms", method, uri, status, elapsedMs));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        logExecutor.shutdown();
     }
 }
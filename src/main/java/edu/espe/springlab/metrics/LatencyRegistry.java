@@ -0,0 +1,48 @@
+package edu.espe.springlab.metrics;
+
+import edu.espe.springlab.dto.RouteLatencyResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+//Un histograma por clave "METODO patron estado" (ej: "GET /api/students/{id} 2xx")
+@Component
+public class LatencyRegistry {
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(String key, long nanos) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    public LatencyHistogram get(String key) {
+        return histograms.get(key);
+    }
+
+    public List<RouteLatencyResponse> snapshot() {
+        return histograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> toResponse(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    public static RouteLatencyResponse toResponse(String key, LatencyHistogram h) {
+        return new RouteLatencyResponse(key, h.getCount(), toMs(h.getMean()),
+                toMs(h.valueAtPercentile(50)), toMs(h.valueAtPercentile(90)),
+                toMs(h.valueAtPercentile(99)), toMs(h.valueAtPercentile(99.9)), toMs(h.getMax()));
+    }
+
+    private static double toMs(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,33 @@
+package edu.espe.springlab.metrics;
+
+import edu.espe.springlab.dto.RouteLatencyResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+//Histogramas por ruta y fase (db, service, ser) a partir de los ServerTimings de cada peticion
+@Component
+public class PhaseTimingRegistry {
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(String route, ServerTimings timings) {
+        histogram(route + " db").record(timings.getDbNanos());
+        histogram(route + " service").record(timings.getServiceNanos());
+        histogram(route + " ser").record(timings.getSerializationNanos());
+    }
+
+    private LatencyHistogram histogram(String key) {
+        LatencyHistogram histogram = histograms.get(key);
+        return histogram != null ? histogram : histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+    public List<RouteLatencyResponse> snapshot() {
+        return histograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> LatencyRegistry.toResponse(e.getKey(), e.getValue()))
+                .toList();
+    }
+}
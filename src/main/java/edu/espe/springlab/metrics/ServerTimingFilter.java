@@ -0,0 +1,45 @@
+package edu.espe.springlab.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+//Abre los ServerTimings de cada peticion /api y al final los agrega por ruta
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private final PhaseTimingRegistry registry;
+
+    public ServerTimingFilter(PhaseTimingRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTimings timings = ServerTimings.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ServerTimings.clear();
+            //Respuestas sin cuerpo JSON (204, 304, errores vacios) tambien llevan el header
+            if (!response.isCommitted() && !response.containsHeader(TimingJacksonHttpMessageConverter.SERVER_TIMING)) {
+                response.setHeader(TimingJacksonHttpMessageConverter.SERVER_TIMING, timings.toHeader());
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                registry.record(request.getMethod() + " " + pattern, timings);
+            }
+        }
+    }
+}
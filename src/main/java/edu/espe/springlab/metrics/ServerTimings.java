@@ -0,0 +1,88 @@
+package edu.espe.springlab.metrics;
+
+import java.util.Locale;
+
+/**
+ * Tiempos por fase de la peticion en curso (base de datos, servicio, serializacion).
+ * Vive en un ThreadLocal que abre y cierra ServerTimingFilter. Las consultas de otros
+ * hilos (lotes de StudentBatchLoader) las suma quien espera su resultado.
+ */
+public final class ServerTimings {
+    private static final ThreadLocal<ServerTimings> CURRENT = new ThreadLocal<>();
+
+    private long dbNanos;
+    private int dbCalls;
+    private long serviceNanos;
+    private int serviceDepth;
+    private long serviceStart;
+    private long serializationNanos;
+
+    private ServerTimings() {}
+
+    public static ServerTimings start() {
+        ServerTimings timings = new ServerTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    //null cuando no hay una peticion en curso en este hilo
+    public static ServerTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void addDb(long nanos) {
+        dbNanos += nanos;
+        dbCalls++;
+    }
+
+    //Solo se mide la llamada mas externa al servicio
+    public void enterService() {
+        if (serviceDepth++ == 0) {
+            serviceStart = System.nanoTime();
+        }
+    }
+
+    public void exitService() {
+        if (--serviceDepth == 0) {
+            serviceNanos += System.nanoTime() - serviceStart;
+        }
+    }
+
+    public void addSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public int getDbCalls() {
+        return dbCalls;
+    }
+
+    public long getServiceNanos() {
+        return serviceNanos;
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+
+    //Formato estandar: db;dur=1.234;desc="3 queries", service;dur=..., ser;dur=...
+    public String toHeader() {
+        return toHeader(true);
+    }
+
+    //Sin ser cuando el header sale antes de serializar el cuerpo
+    public String toHeader(boolean includeSerialization) {
+        String header = String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d queries\", service;dur=%.3f",
+                dbNanos / 1e6, dbCalls, serviceNanos / 1e6);
+        return includeSerialization
+                ? header + String.format(Locale.ROOT, ", ser;dur=%.3f", serializationNanos / 1e6)
+                : header;
+    }
+}
@@ -0,0 +1,26 @@
+package edu.espe.springlab.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+//Mide el tiempo dentro de StudentService para el header Server-Timing
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    @Around("execution(* edu.espe.springlab.service.StudentService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServerTimings timings = ServerTimings.current();
+        if (timings == null) {
+            return joinPoint.proceed();
+        }
+        timings.enterService();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timings.exitService();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package edu.espe.springlab.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+//Proxy del DataSource que mide cuanto tardan las ejecuciones JDBC de la peticion en curso
+public class TimingDataSource extends DelegatingDataSource {
+
+    public TimingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    //Statement, PreparedStatement y CallableStatement se envuelven para medir execute*
+                    if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return wrapStatement(result, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private static Object wrapStatement(Object target, Class<?> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            ServerTimings timings = ServerTimings.current();
+            if (timings == null || !method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            long t0 = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                timings.addDb(System.nanoTime() - t0);
+            }
+        };
+        return Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
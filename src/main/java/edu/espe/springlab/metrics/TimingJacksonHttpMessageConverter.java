@@ -0,0 +1,68 @@
+package edu.espe.springlab.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Convertidor JSON que mide la serializacion. Por defecto el header Server-Timing se envia
+ * antes del cuerpo con db y service, y el JSON se escribe directo a la respuesta; la
+ * serializacion solo se registra en las metricas por ruta. Con bufferSerialization el JSON
+ * se escribe primero en memoria para incluir ser en el header (depuracion: pierde el
+ * streaming y duplica la memoria de las respuestas grandes).
+ * Las exportaciones en streaming no pasan por aqui.
+ */
+public class TimingJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean bufferSerialization;
+
+    public TimingJacksonHttpMessageConverter(ObjectMapper objectMapper, boolean bufferSerialization) {
+        super(objectMapper);
+        this.bufferSerialization = bufferSerialization;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ServerTimings timings = ServerTimings.current();
+        if (timings == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        if (!bufferSerialization) {
+            outputMessage.getHeaders().set(SERVER_TIMING, timings.toHeader(false));
+            long t0 = System.nanoTime();
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                timings.addSerialization(System.nanoTime() - t0);
+            }
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        long t0 = System.nanoTime();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        timings.addSerialization(System.nanoTime() - t0);
+        outputMessage.getHeaders().set(SERVER_TIMING, timings.toHeader(true));
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
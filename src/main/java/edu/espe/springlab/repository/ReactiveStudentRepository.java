@@ -0,0 +1,85 @@
+package edu.espe.springlab.repository;
+
+import edu.espe.springlab.dto.StudentResponse;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Lecturas no bloqueantes de estudiantes por R2DBC, directo a StudentResponse.
+ * El pool es propio (no es un bean ConnectionFactory) para no reemplazar el DataSource de JPA.
+ */
+@Repository
+public class ReactiveStudentRepository implements DisposableBean {
+    private static final String COLUMNS = "select id, full_name, email, birth_date, active from students ";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient db;
+
+    public ReactiveStudentRepository(@Value("${app.reactive.r2dbc-url:r2dbc:mysql://localhost:3306/spring_lab}") String url,
+                                     @Value("${spring.datasource.username:root}") String username,
+                                     @Value("${spring.datasource.password:}") String password,
+                                     @Value("${app.reactive.max-connections:10}") int maxConnections) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxConnections)
+                .build());
+        this.db = DatabaseClient.create(pool);
+    }
+
+    public Mono<StudentResponse> findById(long id) {
+        return db.sql(COLUMNS + "where id = :id")
+                .bind("id", id)
+                .map(ReactiveStudentRepository::toResponse)
+                .one();
+    }
+
+    //Pagina por clave: las filas llegan segun la demanda del suscriptor
+    public Flux<StudentResponse> findAfter(long afterId, int limit) {
+        return db.sql(COLUMNS + "where id > :after order by id limit :limit")
+                .bind("after", afterId)
+                .bind("limit", limit)
+                .map(ReactiveStudentRepository::toResponse)
+                .all();
+    }
+
+    public Flux<StudentResponse> searchByName(String name) {
+        return db.sql(COLUMNS + "where lower(full_name) like :pattern order by id")
+                .bind("pattern", "%" + escapeLike(name.toLowerCase(Locale.ROOT)) + "%")
+                .map(ReactiveStudentRepository::toResponse)
+                .all();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static StudentResponse toResponse(Readable row) {
+        StudentResponse r = new StudentResponse();
+        r.setId(row.get("id", Long.class));
+        r.setFullName(row.get("full_name", String.class));
+        r.setEmail(row.get("email", String.class));
+        r.setBirthDate(row.get("birth_date", LocalDate.class));
+        r.setActive(row.get("active", Boolean.class));
+        return r;
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,60 @@
+package edu.espe.springlab.repository;
+
+import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.domain.id.SnowflakeIdAllocator;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+//Inserciones masivas por JDBC batch, sin pasar por el contexto de persistencia
+@Repository
+public class StudentJdbcRepository {
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "insert into students (id, full_name, email, birth_date, active, version) values (?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbc;
+    private final SnowflakeIdAllocator ids;
+
+    public StudentJdbcRepository(JdbcTemplate jdbc, SnowflakeIdAllocator ids) {
+        this.jdbc = jdbc;
+        this.ids = ids;
+    }
+
+    //Asigna ids con el mismo generador que usa Hibernate e inserta en lotes
+    public void insertAll(List<Student> students) {
+        for (Student s : students) {
+            s.setId(ids.nextId());
+        }
+        for (int from = 0; from < students.size(); from += BATCH_SIZE) {
+            List<Student> chunk = students.subList(from, Math.min(from + BATCH_SIZE, students.size()));
+            jdbc.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Student s = chunk.get(i);
+                    ps.setLong(1, s.getId());
+                    ps.setString(2, s.getFullName());
+                    ps.setString(3, s.getEmail());
+                    if (s.getBirthDate() == null) {
+                        ps.setNull(4, Types.DATE);
+                    } else {
+                        ps.setDate(4, Date.valueOf(s.getBirthDate()));
+                    }
+                    ps.setBoolean(5, Boolean.TRUE.equals(s.getActive()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+        }
+    }
+}
@@ -1,10 +1,24 @@
 package edu.espe.springlab.repository;
 
 import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.dto.StudentResponse;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     //Buscar un estudiante por email
@@ -17,4 +31,85 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     long countByActiveTrue();
     //Contar estudiantes inactivos
     long countByActiveFalse();
+    //Conteo por estado en una sola pasada: filas [active, cantidad]
+    @Query("select s.active, count(s) from Student s group by s.active")
+    List<Object[]> countGroupedByActive();
+    //Conteo por fecha de nacimiento y estado en una sola pasada: filas [birthDate, active, cantidad]
+    @Query("select s.birthDate, s.active, count(s) from Student s group by s.birthDate, s.active")
+    List<Object[]> countGroupedByBirthDateAndActive();
+    //Devuelve cuales de los emails dados ya existen (una sola consulta IN)
+    @Query("select s.email from Student s where s.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    //Recorre toda la tabla en streaming (requiere transaccion abierta y cerrar el Stream)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Student s order by s.id")
+    Stream<Student> streamAll();
+    //Todos los emails en streaming (para construir el filtro de Bloom)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select s.email from Student s")
+    Stream<String> streamAllEmails();
+    //Pares [id, fullName] en streaming (para construir los indices de nombres)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select s.id, s.fullName from Student s")
+    Stream<Object[]> streamAllNames();
+
+    //Proyecciones directas a StudentResponse para las lecturas: solo las columnas necesarias,
+    //sin entidades administradas ni copias para dirty checking
+    @Transactional(readOnly = true)
+    @Query("select new edu.espe.springlab.dto.StudentResponse(s.id, s.fullName, s.email, s.birthDate, s.active, s.version) "
+            + "from Student s where s.id = :id")
+    Optional<StudentResponse> findResponseById(@Param("id") Long id);
+    //Pagina por keyset proyectada: id > cursor ordenado por id (indice de la PK, sin OFFSET; el tamaño viene en el Pageable)
+    @Transactional(readOnly = true)
+    @Query("select new edu.espe.springlab.dto.StudentResponse(s.id, s.fullName, s.email, s.birthDate, s.active, s.version) "
+            + "from Student s where s.id > :cursor order by s.id")
+    List<StudentResponse> findResponsesAfter(@Param("cursor") Long cursor, Pageable page);
+    @Transactional(readOnly = true)
+    @Query("select new edu.espe.springlab.dto.StudentResponse(s.id, s.fullName, s.email, s.birthDate, s.active, s.version) "
+            + "from Student s where s.id in :ids")
+    List<StudentResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    //pattern ya en minusculas y con % y _ escapados con '!'
+    @Transactional(readOnly = true)
+    @Query("select new edu.espe.springlab.dto.StudentResponse(s.id, s.fullName, s.email, s.birthDate, s.active, s.version) "
+            + "from Student s where lower(s.fullName) like :pattern escape '!' order by s.id")
+    List<StudentResponse> findResponsesByNameLike(@Param("pattern") String pattern);
+
+    //Desactivacion en una sola sentencia; devuelve 0 si no existe o ya estaba inactivo
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned Student s set s.active = false where s.id = :id and s.active = true")
+    int deactivateIfActive(@Param("id") Long id);
+    //Igual, pero solo si la version coincide con la del If-Match
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned Student s set s.active = false "
+            + "where s.id = :id and s.active = true and s.version = :version")
+    int deactivateIfActiveAndVersion(@Param("id") Long id, @Param("version") long version);
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned Student s set s.active = false where s.id in :ids and s.active = true")
+    int deactivateAll(@Param("ids") Collection<Long> ids);
+    //Bloquea solo las filas activas del lote (para saber exactamente cuales cambia el UPDATE):
+    //filas [id, birthDate], la fecha va en el evento para ajustar los histogramas sin recontar
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id, s.birthDate from Student s where s.id in :ids and s.active = true")
+    List<Object[]> lockActiveIds(@Param("ids") Collection<Long> ids);
+    //Candidatos por rango de fecha SIN bloqueo (keyset por id): un FOR UPDATE aqui bloquearia
+    //cada fila recorrida (y sus huecos) en InnoDB; luego lockActiveIds bloquea solo estas por clave primaria
+    @Query("select s.id from Student s where s.active = true and s.birthDate between :from and :to "
+            + "and s.id > :after order by s.id")
+    List<Long> findActiveIdsByBirthDate(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                        @Param("after") Long after, Pageable page);
+    @Query("select count(s) from Student s where s.active = true and s.birthDate between :from and :to")
+    long countActiveByBirthDate(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    //Solo la version (para responder 304 sin leer ni mapear la fila)
+    @Query("select s.version from Student s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    //Pares [id, version] de una pagina por keyset (para el ETag del listado)
+    @Transactional(readOnly = true)
+    @Query("select s.id, s.version from Student s where s.id > :cursor order by s.id")
+    List<Object[]> findVersionsAfter(@Param("cursor") Long cursor, Pageable page);
 }
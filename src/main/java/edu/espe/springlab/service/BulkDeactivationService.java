@@ -0,0 +1,11 @@
+package edu.espe.springlab.service;
+
+import edu.espe.springlab.dto.BulkDeactivationJobResponse;
+import edu.espe.springlab.dto.BulkDeactivationRequest;
+
+public interface BulkDeactivationService {
+    //Valida y encola el trabajo; se ejecuta en segundo plano por lotes
+    BulkDeactivationJobResponse submit(BulkDeactivationRequest request);
+
+    BulkDeactivationJobResponse getStatus(String jobId);
+}
@@ -0,0 +1,21 @@
+package edu.espe.springlab.service;
+
+import edu.espe.springlab.dto.StudentImportJobResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface StudentImportService {
+    //Guarda el stream en disco, valida la cabecera y encola la importacion; devuelve el trabajo (QUEUED)
+    StudentImportJobResponse importStudents(ExportFormat format, InputStream in) throws IOException;
+
+    //Importaciones en curso y recientes, con su avance
+    List<StudentImportJobResponse> list();
+
+    StudentImportJobResponse getStatus(String jobId);
+
+    //Copia el archivo de rechazos (CSV line,reason,record); parcial si la importacion sigue en curso
+    void writeRejects(String jobId, OutputStream out) throws IOException;
+}
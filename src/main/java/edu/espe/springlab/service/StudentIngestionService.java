@@ -0,0 +1,14 @@
+package edu.espe.springlab.service;
+
+import edu.espe.springlab.dto.IngestionStatsResponse;
+import edu.espe.springlab.dto.IngestionStatusResponse;
+import edu.espe.springlab.dto.StudentRequestData;
+
+public interface StudentIngestionService {
+    //Encola un alta ya validada; TooManyRequestsException si la cola esta llena
+    IngestionStatusResponse submit(StudentRequestData request);
+
+    IngestionStatusResponse getStatus(String trackingId);
+
+    IngestionStatsResponse stats();
+}
@@ -1,9 +1,16 @@
 package edu.espe.springlab.service;
 
+import edu.espe.springlab.dto.StatsReconciliationResponse;
+import edu.espe.springlab.dto.StudentBatchResponse;
+import edu.espe.springlab.dto.StudentDemographicsResponse;
+import edu.espe.springlab.dto.StudentPageResponse;
 import edu.espe.springlab.dto.StudentRequestData;
 import edu.espe.springlab.dto.StudentResponse;
 import edu.espe.springlab.dto.StudentStatsResponse;
+import edu.espe.springlab.dto.StudentSuggestion;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface StudentService {
@@ -11,18 +18,45 @@ public interface StudentService {
     //Crear un estudiante a partir del DTO validado
     StudentResponse create(StudentRequestData request);
 
+    //Crear muchos estudiantes en una sola llamada, con resultado por elemento
+    StudentBatchResponse createBatch(List<StudentRequestData> requests);
+
     //Busqueda por ID
     StudentResponse getById(Long id);
 
-    //Listar todos los estudiantes
-    List<StudentResponse> list();
+    //Version actual del estudiante (para ETag / If-None-Match) sin leer la fila completa
+    long getVersion(Long id);
+
+    //Listar estudiantes por paginas (keyset sobre id)
+    StudentPageResponse list(String cursor, int limit);
+
+    //Huella de la pagina (ids y versiones) igual a la de list(), sin leer las filas completas
+    long pageFingerprint(String cursor, int limit);
 
     //Cambiar estado del estudiante
     StudentResponse deactivate(Long id);
 
+    //Cambiar estado solo si la version coincide (If-Match); expectedVersion null = sin condicion
+    StudentResponse deactivate(Long id, Long expectedVersion);
+
+    //Escribe en streaming {"items":[...],"missing":[...]} en el orden pedido, devuelve los encontrados
+    long writeByIds(List<Long> ids, OutputStream out) throws IOException;
+
     //Buscar estudiantes por nombre parcial
     List<StudentResponse> findByPartialName(String partialName);
 
+    //Autocompletar nombres por prefijo (desde memoria)
+    List<StudentSuggestion> suggest(String prefix, int limit);
+
     //Obtener estadísticas de estudiantes
     StudentStatsResponse getStats();
+
+    //Histogramas de edad y año de nacimiento por estado (desde memoria)
+    StudentDemographicsResponse getDemographics();
+
+    //Ultima reconciliacion de los contadores contra la base de datos
+    StatsReconciliationResponse getStatsReconciliation();
+
+    //Exportar todos los estudiantes en streaming, devuelve las filas escritas
+    long export(ExportFormat format, OutputStream out) throws IOException;
 }
@@ -0,0 +1,213 @@
+package edu.espe.springlab.service.impl;
+
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.dto.BulkDeactivationJobResponse;
+import edu.espe.springlab.dto.BulkDeactivationJobResponse.Status;
+import edu.espe.springlab.dto.BulkDeactivationRequest;
+import edu.espe.springlab.repository.StudentRepository;
+import edu.espe.springlab.service.BulkDeactivationService;
+import edu.espe.springlab.web.advice.BadRequestException;
+import edu.espe.springlab.web.advice.NotFoundException;
+import edu.espe.springlab.web.advice.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Desactivaciones masivas en segundo plano. Cada lote es una transaccion corta que
+ * bloquea solo sus filas activas (por clave primaria) y las desactiva con un UPDATE, asi
+ * un cierre de periodo con decenas de miles de estudiantes no bloquea la tabla ni agota
+ * timeouts. Por rango de fechas, los candidatos se buscan antes y sin bloqueo.
+ */
+@Service
+public class BulkDeactivationServiceImpl implements BulkDeactivationService, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(BulkDeactivationServiceImpl.class);
+    static final int MAX_IDS = 100_000;
+    //Trabajos terminados que se conservan para consultar su estado
+    private static final int MAX_RETAINED = 100;
+
+    private final StudentRepository repo;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    //Trabajos en cola o en curso; cada uno retiene su lista de ids hasta terminar
+    private final int maxPending;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    //Un trabajo a la vez: los lotes no compiten entre si por las mismas filas
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "bulk-deactivation");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public BulkDeactivationServiceImpl(StudentRepository repo, ApplicationEventPublisher events,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.deactivation.chunk-size:500}") int chunkSize,
+                                       @Value("${app.deactivation.max-pending:10}") int maxPending) {
+        this.repo = repo;
+        this.events = events;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxPending = maxPending;
+    }
+
+    @Override
+    public BulkDeactivationJobResponse submit(BulkDeactivationRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byBirthDate = request.getBirthDateFrom() != null || request.getBirthDateTo() != null;
+        if (byIds == byBirthDate) {
+            throw new BadRequestException("Debe indicar ids o un rango birthDateFrom/birthDateTo (solo uno)");
+        }
+        Job job;
+        if (byIds) {
+            if (request.getIds().size() > MAX_IDS) {
+                throw new BadRequestException("Maximo " + MAX_IDS + " ids por trabajo");
+            }
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            ids.removeIf(id -> id == null);
+            job = new Job(ids, null, null);
+        } else {
+            LocalDate from = request.getBirthDateFrom();
+            LocalDate to = request.getBirthDateTo();
+            if (from == null || to == null || from.isAfter(to)) {
+                throw new BadRequestException("birthDateFrom y birthDateTo son obligatorios y from <= to");
+            }
+            job = new Job(null, from, to);
+        }
+        //Conteo y alta juntos: dos envios simultaneos no pasan ambos el limite
+        synchronized (jobs) {
+            long pending = jobs.values().stream().filter(j -> j.finishedAt == null).count();
+            if (pending >= maxPending) {
+                throw new TooManyRequestsException("Hay " + pending + " desactivaciones pendientes; reintente mas tarde");
+            }
+            evictFinished();
+            jobs.put(job.id, job);
+        }
+        executor.execute(() -> run(job));
+        return job.toResponse();
+    }
+
+    @Override
+    public BulkDeactivationJobResponse getStatus(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Trabajo no encontrado");
+        }
+        return job.toResponse();
+    }
+
+    private void run(Job job) {
+        job.startedAt = Instant.now();
+        job.status = Status.RUNNING;
+        try {
+            if (job.ids != null) {
+                job.total = job.ids.size();
+                for (int from = 0; from < job.ids.size(); from += chunkSize) {
+                    List<Long> chunk = job.ids.subList(from, Math.min(from + chunkSize, job.ids.size()));
+                    Integer changed = tx.execute(status -> deactivate(repo.lockActiveIds(chunk)));
+                    job.progress(chunk.size(), changed);
+                }
+            } else {
+                job.total = repo.countActiveByBirthDate(job.from, job.to);
+                long after = Long.MIN_VALUE;
+                while (true) {
+                    List<Long> candidates = repo.findActiveIdsByBirthDate(job.from, job.to, after,
+                            PageRequest.ofSize(chunkSize));
+                    if (candidates.isEmpty()) {
+                        break;
+                    }
+                    //Solo se bloquean los candidatos que siguen activos, por clave primaria
+                    Integer changed = tx.execute(status -> deactivate(repo.lockActiveIds(candidates)));
+                    job.progress(candidates.size(), changed);
+                    after = candidates.get(candidates.size() - 1);
+                }
+            }
+            job.status = Status.COMPLETED;
+        } catch (RuntimeException ex) {
+            log.warn("Fallo el trabajo de desactivacion {}", job.id, ex);
+            job.error = ex.getMessage();
+            job.status = Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    //Dentro de la transaccion del lote: los eventos se aplican al confirmarse.
+    //Filas bloqueadas [id, birthDate]
+    private int deactivate(List<Object[]> locked) {
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        int changed = repo.deactivateAll(locked.stream().map(row -> (Long) row[0]).toList());
+        for (Object[] row : locked) {
+            events.publishEvent(StudentChangedEvent.deactivated((Long) row[0], (LocalDate) row[1]));
+        }
+        return changed;
+    }
+
+    private void evictFinished() {
+        if (jobs.size() < MAX_RETAINED) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(j -> j.finishedAt != null)
+                .sorted(Comparator.comparing((Job j) -> j.finishedAt))
+                .limit(jobs.size() - MAX_RETAINED + 1)
+                .forEach(j -> jobs.remove(j.id));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    //Estado mutable de un trabajo; lo escribe solo el hilo del executor
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final Instant createdAt = Instant.now();
+        final List<Long> ids;
+        final LocalDate from;
+        final LocalDate to;
+        volatile Status status = Status.QUEUED;
+        volatile long total;
+        volatile long processed;
+        volatile long deactivated;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(List<Long> ids, LocalDate from, LocalDate to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        void progress(int processedRows, int deactivatedRows) {
+            processed += processedRows;
+            deactivated += deactivatedRows;
+        }
+
+        BulkDeactivationJobResponse toResponse() {
+            return new BulkDeactivationJobResponse(id, status, total, processed, deactivated,
+                    createdAt, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package edu.espe.springlab.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import edu.espe.springlab.dto.StudentResponse;
+import edu.espe.springlab.service.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+//Escribe filas de estudiantes una por una, sin acumularlas en memoria
+abstract class StudentExportWriter {
+
+    static StudentExportWriter create(ExportFormat format, OutputStream out, ObjectMapper mapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new Ndjson(out, mapper);
+            case CSV -> new Csv(out);
+        };
+    }
+
+    abstract void write(StudentResponse row) throws IOException;
+
+    //Vacia los buffers sin cerrar el stream de la respuesta
+    abstract void finish() throws IOException;
+
+    private static final class Ndjson extends StudentExportWriter {
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+        private boolean empty = true;
+
+        Ndjson(OutputStream out, ObjectMapper mapper) throws IOException {
+            this.generator = mapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+            this.writer = mapper.writerFor(StudentResponse.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        void write(StudentResponse row) throws IOException {
+            writer.writeValue(generator, row);
+            empty = false;
+        }
+
+        @Override
+        void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+
+    private static final class Csv extends StudentExportWriter {
+        private final Writer writer;
+
+        Csv(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            this.writer.write("id,fullName,email,birthDate,active\n");
+        }
+
+        @Override
+        void write(StudentResponse row) throws IOException {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writeField(row.getFullName());
+            writer.write(',');
+            writeField(row.getEmail());
+            writer.write(',');
+            writer.write(row.getBirthDate() == null ? "" : row.getBirthDate().toString());
+            writer.write(',');
+            writer.write(String.valueOf(Boolean.TRUE.equals(row.getActive())));
+            writer.write('\n');
+        }
+
+        //Comillas solo cuando el valor lo necesita (RFC 4180)
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package edu.espe.springlab.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.espe.springlab.dto.StudentRequestData;
+import edu.espe.springlab.service.ExportFormat;
+import edu.espe.springlab.web.advice.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+//Lee filas de estudiantes una por una desde el stream subido, sin cargar el archivo en memoria
+abstract class StudentImportReader {
+    //Un registro mas largo casi siempre es una comilla sin cerrar: se corta en vez de leer todo el archivo
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    static StudentImportReader create(ExportFormat format, InputStream in, ObjectMapper mapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        //BOM de UTF-8 que dejan algunas hojas de calculo
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        return switch (format) {
+            case NDJSON -> new Ndjson(reader, mapper);
+            case CSV -> new Csv(reader);
+        };
+    }
+
+    //Siguiente fila, o null al final del archivo
+    abstract Row next() throws IOException;
+
+    //Fila leida: request si se pudo interpretar, error si no; raw es el texto original para el archivo de rechazos
+    static final class Row {
+        final long line;
+        final StudentRequestData request;
+        final String error;
+        final String raw;
+
+        Row(long line, StudentRequestData request, String error, String raw) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+            this.raw = raw;
+        }
+    }
+
+    private static final class Ndjson extends StudentImportReader {
+        private final BufferedReader reader;
+        private final ObjectMapper mapper;
+        private long line;
+
+        Ndjson(BufferedReader reader, ObjectMapper mapper) {
+            this.reader = reader;
+            this.mapper = mapper;
+        }
+
+        @Override
+        Row next() throws IOException {
+            String text;
+            while ((text = readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    //null, numeros, textos o arreglos son validos como JSON pero no son un estudiante
+                    JsonNode node = mapper.readTree(text);
+                    if (node == null || !node.isObject()) {
+                        return new Row(line, null, "JSON invalido: se espera un objeto", text);
+                    }
+                    return new Row(line, mapper.treeToValue(node, StudentRequestData.class), null, text);
+                } catch (JsonProcessingException ex) {
+                    return new Row(line, null, "JSON invalido: " + ex.getOriginalMessage(), text);
+                }
+            }
+            return null;
+        }
+
+        //Como readLine, pero con el mismo limite que un registro CSV: una linea sin salto no llena el heap
+        private String readLine() throws IOException {
+            StringBuilder text = new StringBuilder();
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1 && c != '\n') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    break;
+                }
+                if (text.length() >= MAX_RECORD_CHARS) {
+                    throw new BadRequestException("Registro demasiado largo en la linea " + (line + 1));
+                }
+                text.append((char) c);
+                c = reader.read();
+            }
+            return text.toString();
+        }
+    }
+
+    //RFC 4180: campos entre comillas con comas, saltos de linea y "" escapadas; la primera fila es la cabecera
+    private static final class Csv extends StudentImportReader {
+        private final BufferedReader reader;
+        private final int fullNameColumn;
+        private final int emailColumn;
+        private final int birthDateColumn;
+        private long line = 1;
+
+        Csv(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord(new StringBuilder());
+            if (header == null) {
+                throw new BadRequestException("El CSV esta vacio");
+            }
+            List<String> columns = header.stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toList();
+            this.fullNameColumn = columns.indexOf("fullname");
+            this.emailColumn = columns.indexOf("email");
+            this.birthDateColumn = columns.indexOf("birthdate");
+            if (fullNameColumn < 0 || emailColumn < 0) {
+                throw new BadRequestException("La cabecera del CSV debe incluir fullName y email");
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (true) {
+                long start = line;
+                StringBuilder raw = new StringBuilder();
+                List<String> fields = readRecord(raw);
+                if (fields == null) {
+                    return null;
+                }
+                if (raw.length() == 0) {
+                    continue;
+                }
+                StudentRequestData request = new StudentRequestData();
+                request.setFullName(field(fields, fullNameColumn));
+                request.setEmail(field(fields, emailColumn));
+                String birthDate = field(fields, birthDateColumn);
+                if (birthDate != null && !birthDate.isBlank()) {
+                    try {
+                        request.setBirthDate(LocalDate.parse(birthDate.trim()));
+                    } catch (DateTimeParseException ex) {
+                        return new Row(start, null, "birthDate invalida (se espera AAAA-MM-DD): " + birthDate, raw.toString());
+                    }
+                }
+                return new Row(start, request, null, raw.toString());
+            }
+        }
+
+        private static String field(List<String> fields, int column) {
+            return column >= 0 && column < fields.size() ? fields.get(column) : null;
+        }
+
+        private List<String> readRecord(StringBuilder raw) throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            while (true) {
+                if (raw.length() > MAX_RECORD_CHARS) {
+                    throw new BadRequestException("Registro demasiado largo en la linea " + line + " (¿comillas sin cerrar?)");
+                }
+                if (c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (inQuotes) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                            raw.append('"');
+                        } else {
+                            inQuotes = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                    raw.append((char) c);
+                } else if (c == '"' && field.length() == 0) {
+                    inQuotes = true;
+                    raw.append('"');
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    raw.append(',');
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                    raw.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
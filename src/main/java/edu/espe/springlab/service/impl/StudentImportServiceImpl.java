@@ -0,0 +1,437 @@
+package edu.espe.springlab.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.dto.StudentImportJobResponse;
+import edu.espe.springlab.dto.StudentImportJobResponse.Status;
+import edu.espe.springlab.dto.StudentRequestData;
+import edu.espe.springlab.index.BloomFilter;
+import edu.espe.springlab.repository.StudentJdbcRepository;
+import edu.espe.springlab.repository.StudentRepository;
+import edu.espe.springlab.service.ExportFormat;
+import edu.espe.springlab.service.StudentImportService;
+import edu.espe.springlab.web.advice.NotFoundException;
+import edu.espe.springlab.web.advice.TooManyRequestsException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Importacion masiva en segundo plano (CSV o NDJSON). La peticion solo guarda el archivo en disco
+ * y valida la cabecera; el avance se consulta con el id del trabajo. El archivo se lee por bloques de chunkSize filas:
+ * cada bloque se valida en paralelo, se descartan emails repetidos dentro del bloque y los ya
+ * registrados (una consulta IN), y se inserta por JDBC batch en su propia transaccion. Como cada
+ * bloque queda confirmado antes del siguiente, un email repetido en bloques distintos lo detecta
+ * la consulta IN sin guardar todos los emails del archivo en memoria.
+ */
+@Service
+public class StudentImportServiceImpl implements StudentImportService, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(StudentImportServiceImpl.class);
+    //Importaciones terminadas que se conservan (con su archivo de rechazos)
+    private static final int MAX_RETAINED = 20;
+    //Mismo tamaño de consulta IN que createBatch
+    private static final int IN_CHUNK = 1000;
+    //Importaciones en cola o en curso; cada una guarda su archivo en disco mientras espera
+    static final int MAX_PENDING = 4;
+
+    private final StudentRepository repo;
+    private final StudentJdbcRepository jdbcRepo;
+    private final ApplicationEventPublisher events;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final int validationThreads;
+    private final ExecutorService validationExecutor;
+    //Una importacion a la vez: los bloques no compiten entre si por la base
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "student-import");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public StudentImportServiceImpl(StudentRepository repo, StudentJdbcRepository jdbcRepo,
+                                    ApplicationEventPublisher events, Validator validator, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.imports.chunk-size:1000}") int chunkSize,
+                                    @Value("${app.imports.validation-threads:4}") int validationThreads) {
+        this.repo = repo;
+        this.jdbcRepo = jdbcRepo;
+        this.events = events;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.validationThreads = validationThreads;
+        AtomicInteger counter = new AtomicInteger();
+        this.validationExecutor = Executors.newFixedThreadPool(validationThreads, r -> {
+            Thread t = new Thread(r, "student-import-validation-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public StudentImportJobResponse importStudents(ExportFormat format, InputStream in) throws IOException {
+        evictFinished();
+        long pending = jobs.values().stream().filter(j -> j.finishedAt == null).count();
+        if (pending >= MAX_PENDING) {
+            throw new TooManyRequestsException("Hay " + pending + " importaciones pendientes; reintente mas tarde");
+        }
+        Job job = new Job(format, Files.createTempFile("student-import-", "-rejects.csv"),
+                Files.createTempFile("student-import-", "-upload"));
+        jobs.put(job.id, job);
+        //En el hilo de la peticion solo se guarda el archivo y se lee la cabecera (400 inmediato si es invalida)
+        InputStream file = null;
+        StudentImportReader reader;
+        try {
+            Files.copy(in, job.uploadFile, StandardCopyOption.REPLACE_EXISTING);
+            file = Files.newInputStream(job.uploadFile);
+            reader = StudentImportReader.create(format, file, objectMapper);
+        } catch (IOException | RuntimeException ex) {
+            if (file != null) {
+                file.close();
+            }
+            fail(job, ex);
+            finish(job);
+            throw ex;
+        }
+        InputStream upload = file;
+        //Foto tomada antes de encolar: la respuesta siempre dice QUEUED
+        StudentImportJobResponse accepted = job.toResponse();
+        importExecutor.execute(() -> {
+            try (upload) {
+                run(job, reader);
+            } catch (IOException ex) {
+                log.warn("No se pudo cerrar {}", job.uploadFile, ex);
+            }
+        });
+        return accepted;
+    }
+
+    private void run(Job job, StudentImportReader reader) {
+        job.status = Status.RUNNING;
+        try (Writer rejects = Files.newBufferedWriter(job.rejectsFile, StandardCharsets.UTF_8)) {
+            rejects.write("line,reason,record\n");
+            List<StudentImportReader.Row> chunk = new ArrayList<>(chunkSize);
+            StudentImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(job, chunk, rejects);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk, rejects);
+            }
+            job.status = Status.COMPLETED;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Fallo la importacion {}", job.id, ex);
+            fail(job, ex);
+        } finally {
+            finish(job);
+        }
+    }
+
+    //Los bloques anteriores al error ya estan confirmados: el mensaje dice cuantas filas quedaron
+    private static void fail(Job job, Exception ex) {
+        job.error = ex.getMessage() + " (" + job.imported.sum() + " filas ya importadas y confirmadas)";
+        job.status = Status.FAILED;
+    }
+
+    private static void finish(Job job) {
+        //El job terminado queda en el registro: los filtros y el archivo subido ya no se usan
+        job.inserted = null;
+        deleteQuietly(job.uploadFile);
+        job.finishedAt = Instant.now();
+    }
+
+    private void processChunk(Job job, List<StudentImportReader.Row> rows, Writer rejects) throws IOException {
+        //1. Validacion en paralelo (mismas reglas que StudentRequestData en el alta)
+        String[] errors = validate(rows);
+
+        //2. Emails repetidos dentro del bloque: gana la primera aparicion
+        List<StudentImportReader.Row> candidates = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            StudentImportReader.Row row = rows.get(i);
+            if (errors[i] != null) {
+                reject(job, rejects, row, errors[i]);
+            } else if (!seen.add(normalizeEmail(row.request.getEmail()))) {
+                reject(job, rejects, row, "Email repetido en el archivo");
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        //3. Emails ya registrados, incluidos los insertados por bloques anteriores de este archivo
+        Set<String> existing = new HashSet<>();
+        List<String> emails = candidates.stream().map(r -> r.request.getEmail()).toList();
+        for (int from = 0; from < emails.size(); from += IN_CHUNK) {
+            for (String email : repo.findExistingEmails(emails.subList(from, Math.min(from + IN_CHUNK, emails.size())))) {
+                existing.add(normalizeEmail(email));
+            }
+        }
+        List<StudentImportReader.Row> toInsert = new ArrayList<>();
+        for (StudentImportReader.Row row : candidates) {
+            String email = normalizeEmail(row.request.getEmail());
+            if (existing.contains(email)) {
+                //El filtro solo decide el motivo del rechazo; un falso positivo cambia el texto, no el resultado
+                reject(job, rejects, row, job.wasInserted(email)
+                        ? "Email repetido en el archivo" : "El email ya esta registrado");
+            } else {
+                toInsert.add(row);
+            }
+        }
+
+        //4. Insercion por JDBC batch en una transaccion por bloque
+        insert(job, toInsert, rejects);
+        job.processed.add(rows.size());
+        rejects.flush();
+    }
+
+    private String[] validate(List<StudentImportReader.Row> rows) {
+        String[] errors = new String[rows.size()];
+        int slice = Math.max(1, (rows.size() + validationThreads - 1) / validationThreads);
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += slice) {
+            int start = from;
+            int end = Math.min(from + slice, rows.size());
+            slices.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    errors[i] = validate(rows.get(i));
+                }
+            }, validationExecutor));
+        }
+        //join publica los errores escritos por los otros hilos
+        CompletableFuture.allOf(slices.toArray(new CompletableFuture[0])).join();
+        return errors;
+    }
+
+    private String validate(StudentImportReader.Row row) {
+        if (row.error != null) {
+            return row.error;
+        }
+        Set<ConstraintViolation<StudentRequestData>> violations = validator.validate(row.request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void insert(Job job, List<StudentImportReader.Row> rows, Writer rejects) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Student> students = rows.stream().map(r -> toEntity(r.request)).toList();
+        try {
+            tx.executeWithoutResult(status -> insertAll(students));
+            for (Student student : students) {
+                job.markInserted(normalizeEmail(student.getEmail()));
+            }
+            job.imported.add(students.size());
+        } catch (DataIntegrityViolationException ex) {
+            //Otro alta confirmo alguno de los emails entre la consulta IN y el INSERT:
+            //el bloque se revirtio completo, se reintenta fila por fila
+            for (int i = 0; i < rows.size(); i++) {
+                Student student = toEntity(rows.get(i).request);
+                try {
+                    tx.executeWithoutResult(status -> insertAll(List.of(student)));
+                    job.markInserted(normalizeEmail(student.getEmail()));
+                    job.imported.increment();
+                } catch (DataIntegrityViolationException duplicate) {
+                    reject(job, rejects, rows.get(i), "El email ya esta registrado");
+                }
+            }
+        }
+    }
+
+    //Dentro de la transaccion del bloque: los eventos se aplican al confirmarse
+    private void insertAll(List<Student> students) {
+        jdbcRepo.insertAll(students);
+        for (Student student : students) {
+            //El INSERT por JDBC no pasa por el listener de JPA
+            events.publishEvent(StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, student));
+        }
+    }
+
+    private static void reject(Job job, Writer rejects, StudentImportReader.Row row, String reason) throws IOException {
+        rejects.write(Long.toString(row.line));
+        rejects.write(',');
+        writeField(rejects, reason);
+        rejects.write(',');
+        writeField(rejects, row.raw);
+        rejects.write('\n');
+        job.rejected.increment();
+    }
+
+    //Comillas solo cuando el valor lo necesita (RFC 4180), igual que la exportacion
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static Student toEntity(StudentRequestData request) {
+        Student student = new Student();
+        student.setFullName(request.getFullName());
+        student.setEmail(request.getEmail());
+        student.setBirthDate(request.getBirthDate());
+        student.setActive(true);
+        return student;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public List<StudentImportJobResponse> list() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((Job j) -> j.startedAt).reversed())
+                .map(Job::toResponse)
+                .toList();
+    }
+
+    @Override
+    public StudentImportJobResponse getStatus(String jobId) {
+        return find(jobId).toResponse();
+    }
+
+    @Override
+    public void writeRejects(String jobId, OutputStream out) throws IOException {
+        Files.copy(find(jobId).rejectsFile, out);
+    }
+
+    private Job find(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Importacion no encontrada");
+        }
+        return job;
+    }
+
+    private void evictFinished() {
+        if (jobs.size() < MAX_RETAINED) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(j -> j.finishedAt != null)
+                .sorted(Comparator.comparing((Job j) -> j.finishedAt))
+                .limit(jobs.size() - MAX_RETAINED + 1)
+                .forEach(j -> {
+                    jobs.remove(j.id);
+                    deleteQuietly(j.rejectsFile);
+                });
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("No se pudo borrar {}", file, ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        importExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+        jobs.values().forEach(j -> {
+            deleteQuietly(j.rejectsFile);
+            deleteQuietly(j.uploadFile);
+        });
+    }
+
+    //Estado de una importacion; tras la subida lo escribe solo el hilo student-import
+    private final class Job {
+        final String id = UUID.randomUUID().toString();
+        final Instant startedAt = Instant.now();
+        final ExportFormat format;
+        final Path rejectsFile;
+        //Copia del cuerpo subido; se borra al terminar
+        final Path uploadFile;
+        //Emails insertados por esta importacion, solo para distinguir el motivo del rechazo.
+        //Crece con lo insertado (filtros de capacidad doble, el primero de un bloque) en vez de
+        //reservar de entrada para el archivo mas grande; se libera al terminar
+        List<BloomFilter> inserted = new ArrayList<>();
+        final LongAdder processed = new LongAdder();
+        final LongAdder imported = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        volatile Status status = Status.QUEUED;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(ExportFormat format, Path rejectsFile, Path uploadFile) {
+            this.format = format;
+            this.rejectsFile = rejectsFile;
+            this.uploadFile = uploadFile;
+        }
+
+        void markInserted(String email) {
+            BloomFilter current = inserted.isEmpty() ? null : inserted.get(inserted.size() - 1);
+            if (current == null || current.getInsertions() >= current.getExpectedInsertions()) {
+                current = new BloomFilter(current == null ? chunkSize : current.getExpectedInsertions() * 2, 0.001);
+                inserted.add(current);
+            }
+            current.put(email);
+        }
+
+        boolean wasInserted(String email) {
+            for (BloomFilter filter : inserted) {
+                if (filter.mightContain(email)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        StudentImportJobResponse toResponse() {
+            return new StudentImportJobResponse(id, status, format.getExtension(), processed.sum(), imported.sum(),
+                    rejected.sum(), startedAt, finishedAt, error);
+        }
+    }
+}
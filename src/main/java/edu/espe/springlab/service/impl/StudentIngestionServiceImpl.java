@@ -0,0 +1,210 @@
+package edu.espe.springlab.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.espe.springlab.dto.IngestionStatsResponse;
+import edu.espe.springlab.dto.IngestionStatusResponse;
+import edu.espe.springlab.dto.IngestionStatusResponse.Status;
+import edu.espe.springlab.dto.StudentBatchItemResult;
+import edu.espe.springlab.dto.StudentRequestData;
+import edu.espe.springlab.metrics.LatencyHistogram;
+import edu.espe.springlab.service.StudentIngestionService;
+import edu.espe.springlab.service.StudentService;
+import edu.espe.springlab.web.advice.ConflictException;
+import edu.espe.springlab.web.advice.NotFoundException;
+import edu.espe.springlab.web.advice.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Altas asincronas (write-behind): la peticion solo valida y encola en un buffer circular
+ * acotado; un unico hilo lo vacia en lotes con createBatch (validacion, emails por IN e
+ * INSERT por JDBC batch en una transaccion). Con la cola llena se rechaza con 429 en vez
+ * de acumular memoria, y el rendimiento crece con el tamaño del lote, no con el pool.
+ */
+@Service
+public class StudentIngestionServiceImpl implements StudentIngestionService, InitializingBean, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(StudentIngestionServiceImpl.class);
+
+    private final StudentService studentService;
+    private final int capacity;
+    private final int batchSize;
+    private final BlockingQueue<Entry> queue;
+    //Resultados consultables por un tiempo; acotados para no crecer sin limite
+    private final Cache<String, IngestionStatusResponse> statuses;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LatencyHistogram batchSizes = new LatencyHistogram();
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    public StudentIngestionServiceImpl(StudentService studentService,
+                                       @Value("${app.ingestion.capacity:10000}") int capacity,
+                                       @Value("${app.ingestion.batch-size:500}") int batchSize,
+                                       @Value("${app.ingestion.status-ttl:PT1H}") Duration statusTtl) {
+        this.studentService = studentService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(Math.max(capacity * 10L, 100_000L))
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.drainer = new Thread(this::drainLoop, "student-ingestion");
+        this.drainer.setDaemon(true);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        drainer.start();
+    }
+
+    @Override
+    public IngestionStatusResponse submit(StudentRequestData request) {
+        if (!running) {
+            throw new TooManyRequestsException("La cola de altas se esta cerrando");
+        }
+        String trackingId = UUID.randomUUID().toString();
+        IngestionStatusResponse status = new IngestionStatusResponse(trackingId, Status.QUEUED, null,
+                request.getEmail(), null, Instant.now(), null);
+        //Se registra antes de encolar: el hilo de vaciado siempre encuentra el estado
+        statuses.put(trackingId, status);
+        if (!queue.offer(new Entry(trackingId, request, status.getQueuedAt()))) {
+            statuses.invalidate(trackingId);
+            rejected.increment();
+            throw new TooManyRequestsException("La cola de altas esta llena, reintente mas tarde");
+        }
+        accepted.increment();
+        return copy(status);
+    }
+
+    @Override
+    public IngestionStatusResponse getStatus(String trackingId) {
+        IngestionStatusResponse status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new NotFoundException("Alta no encontrada");
+        }
+        return copy(status);
+    }
+
+    @Override
+    public IngestionStatsResponse stats() {
+        return new IngestionStatsResponse(capacity, queue.size(), accepted.sum(), rejected.sum(),
+                batchSizes.getCount(), processed.sum(), batchSizes.getMax());
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Entry first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException ex) {
+                log.error("Fallo inesperado vaciando la cola de altas", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+        //Al cerrar se procesa lo que ya fue aceptado con 202
+        while (queue.drainTo(batch, batchSize) > 0) {
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<Entry> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<StudentRequestData> requests = new ArrayList<>(batch.size());
+            for (Entry entry : batch) {
+                requests.add(entry.request);
+            }
+            for (StudentBatchItemResult item : studentService.createBatch(requests).getItems()) {
+                complete(batch.get(item.getIndex()), toStatus(item.getStatus()), item.getId(), item.getMessage());
+            }
+        } catch (DataIntegrityViolationException ex) {
+            //Un alta sincrona confirmo alguno de los emails entre la consulta IN y el INSERT:
+            //el lote se revirtio completo, se reintenta uno por uno
+            for (Entry entry : batch) {
+                createOne(entry);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Fallo el lote de {} altas", batch.size(), ex);
+            for (Entry entry : batch) {
+                complete(entry, Status.FAILED, null, ex.getMessage());
+            }
+        }
+        processed.add(batch.size());
+    }
+
+    private void createOne(Entry entry) {
+        try {
+            complete(entry, Status.CREATED, studentService.create(entry.request).getId(), null);
+        } catch (ConflictException ex) {
+            complete(entry, Status.CONFLICT, null, ex.getMessage());
+        } catch (RuntimeException ex) {
+            complete(entry, Status.FAILED, null, ex.getMessage());
+        }
+    }
+
+    private void complete(Entry entry, Status status, Long studentId, String message) {
+        statuses.put(entry.trackingId, new IngestionStatusResponse(entry.trackingId, status, studentId,
+                entry.request.getEmail(), message, entry.queuedAt, Instant.now()));
+    }
+
+    private static Status toStatus(StudentBatchItemResult.Status status) {
+        return switch (status) {
+            case CREATED -> Status.CREATED;
+            case CONFLICT -> Status.CONFLICT;
+            case INVALID -> Status.INVALID;
+        };
+    }
+
+    //Los estados guardados no se exponen: el DTO tiene setters
+    private static IngestionStatusResponse copy(IngestionStatusResponse s) {
+        return new IngestionStatusResponse(s.getTrackingId(), s.getStatus(), s.getStudentId(), s.getEmail(),
+                s.getMessage(), s.getQueuedAt(), s.getCompletedAt());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        drainer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private static final class Entry {
+        final String trackingId;
+        final StudentRequestData request;
+        final Instant queuedAt;
+
+        Entry(String trackingId, StudentRequestData request, Instant queuedAt) {
+            this.trackingId = trackingId;
+            this.request = request;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -1,79 +1,492 @@
 package edu.espe.springlab.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.espe.springlab.cache.StudentBatchLoader;
+import edu.espe.springlab.cache.StudentCache;
+import edu.espe.springlab.cache.StudentReadCoalescer;
 import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.dto.StatsReconciliationResponse;
+import edu.espe.springlab.dto.StudentBatchItemResult;
+import edu.espe.springlab.dto.StudentBatchResponse;
+import edu.espe.springlab.dto.StudentDemographicsResponse;
+import edu.espe.springlab.dto.StudentPageResponse;
 import edu.espe.springlab.dto.StudentRequestData;
 import edu.espe.springlab.dto.StudentResponse;
 import edu.espe.springlab.dto.StudentStatsResponse;
+import edu.espe.springlab.dto.StudentSuggestion;
+import edu.espe.springlab.index.EmailBloomFilter;
+import edu.espe.springlab.index.StudentNameIndex;
+import edu.espe.springlab.index.StudentSuggestIndex;
+import edu.espe.springlab.index.TrigramIndex;
+import edu.espe.springlab.repository.StudentJdbcRepository;
 import edu.espe.springlab.repository.StudentRepository;
+import edu.espe.springlab.service.ExportFormat;
 import edu.espe.springlab.service.StudentService;
+import edu.espe.springlab.stats.StudentDemographics;
+import edu.espe.springlab.stats.StudentStatsCounter;
+import edu.espe.springlab.web.advice.BadRequestException;
 import edu.espe.springlab.web.advice.ConflictException;
 import edu.espe.springlab.web.advice.NotFoundException;
+import edu.espe.springlab.web.advice.PreconditionFailedException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class StudentServiceImpl implements StudentService {
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BATCH_SIZE = 10_000;
+    //Tamaño maximo de cada consulta IN (emails existentes, ids candidatos)
+    private static final int IN_CHUNK = 1000;
+    private static final long FINGERPRINT_SEED = 0xcbf29ce484222325L;
+
     private final StudentRepository repo;
+    private final StudentJdbcRepository jdbcRepo;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+    private final StudentStatsCounter statsCounter;
+    private final StudentCache studentCache;
+    private final EmailBloomFilter emailFilter;
+    private final StudentNameIndex nameIndex;
+    private final StudentSuggestIndex suggestIndex;
+    private final StudentReadCoalescer coalescer;
+    private final StudentBatchLoader batchLoader;
+    private final StudentDemographics demographics;
 
-    public StudentServiceImpl(StudentRepository repo) {this.repo = repo;}
+    public StudentServiceImpl(StudentRepository repo, StudentJdbcRepository jdbcRepo, EntityManager entityManager,
+                              ObjectMapper objectMapper, Validator validator, ApplicationEventPublisher events,
+                              StudentStatsCounter statsCounter, StudentCache studentCache,
+                              EmailBloomFilter emailFilter, StudentNameIndex nameIndex,
+                              StudentSuggestIndex suggestIndex, StudentReadCoalescer coalescer,
+                              StudentBatchLoader batchLoader, StudentDemographics demographics) {
+        this.repo = repo;
+        this.jdbcRepo = jdbcRepo;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.events = events;
+        this.statsCounter = statsCounter;
+        this.studentCache = studentCache;
+        this.emailFilter = emailFilter;
+        this.nameIndex = nameIndex;
+        this.suggestIndex = suggestIndex;
+        this.coalescer = coalescer;
+        this.batchLoader = batchLoader;
+        this.demographics = demographics;
+    }
 
     @Override
     public StudentResponse create(StudentRequestData request) {
-        if(repo.existsByEmail(request.getEmail())) {
+        //El filtro de Bloom descarta la consulta cuando el email seguro es nuevo
+        if (emailFilter.mightContain(request.getEmail())) {
+            if (repo.existsByEmail(request.getEmail())) {
+                throw new ConflictException("El email ya esta registrado");
+            }
+            emailFilter.recordFalsePositive();
+        }
+        try {
+            Student saved = repo.save(toEntity(request));
+            return toResponse(saved);
+        } catch (DataIntegrityViolationException ex) {
+            //El indice unico de email es el arbitro final (altas concurrentes)
             throw new ConflictException("El email ya esta registrado");
         }
-        Student student = new Student();
-        student.setFullName(request.getFullName());
-        student.setEmail(request.getEmail());
-        student.setBirthDate(request.getBirthDate());
-        student.setActive(true);
+    }
+
+    @Override
+    @Transactional
+    public StudentBatchResponse createBatch(List<StudentRequestData> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("El lote no puede superar " + MAX_BATCH_SIZE + " estudiantes");
+        }
+        StudentBatchItemResult[] results = new StudentBatchItemResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
 
-        Student saved = repo.save(student);
-        return toResponse(saved);
+        //1. Validacion por elemento y emails repetidos dentro del mismo lote
+        for (int i = 0; i < requests.size(); i++) {
+            StudentRequestData request = requests.get(i);
+            if (request == null) {
+                results[i] = new StudentBatchItemResult(i, StudentBatchItemResult.Status.INVALID, null, null, "Elemento vacio");
+                continue;
+            }
+            Set<ConstraintViolation<StudentRequestData>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = new StudentBatchItemResult(i, StudentBatchItemResult.Status.INVALID, null, request.getEmail(), message);
+            } else if (!seen.add(normalizeEmail(request.getEmail()))) {
+                results[i] = new StudentBatchItemResult(i, StudentBatchItemResult.Status.CONFLICT, null, request.getEmail(),
+                        "Email repetido dentro del lote");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        //2. Emails ya registrados: una consulta IN por bloque en lugar de una por estudiante
+        Set<String> existing = new HashSet<>();
+        List<String> emails = candidates.stream().map(i -> requests.get(i).getEmail()).toList();
+        for (int from = 0; from < emails.size(); from += IN_CHUNK) {
+            for (String email : repo.findExistingEmails(emails.subList(from, Math.min(from + IN_CHUNK, emails.size())))) {
+                existing.add(normalizeEmail(email));
+            }
+        }
+
+        //3. Insercion por JDBC batch de los que quedan
+        List<Integer> toInsert = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
+        for (Integer i : candidates) {
+            StudentRequestData request = requests.get(i);
+            if (existing.contains(normalizeEmail(request.getEmail()))) {
+                results[i] = new StudentBatchItemResult(i, StudentBatchItemResult.Status.CONFLICT, null, request.getEmail(),
+                        "El email ya esta registrado");
+                continue;
+            }
+            toInsert.add(i);
+            students.add(toEntity(request));
+        }
+        jdbcRepo.insertAll(students);
+        for (int k = 0; k < toInsert.size(); k++) {
+            int i = toInsert.get(k);
+            Student saved = students.get(k);
+            //El INSERT por JDBC no pasa por el listener de JPA
+            events.publishEvent(StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, saved));
+            results[i] = new StudentBatchItemResult(i, StudentBatchItemResult.Status.CREATED, saved.getId(), saved.getEmail(), null);
+        }
+        return new StudentBatchResponse(List.of(results));
     }
 
     @Override
     public StudentResponse getById(Long id) {
-        Student student = repo.findById(id).orElseThrow(() -> new NotFoundException("Estudiante no encontrado"));
-        return toResponse(student);
+        //Dentro de una transaccion no se usa la cache: lo leido puede no confirmarse nunca
+        //(un rollback no invalida) y lo cacheado puede no reflejar lo escrito en ella
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return repo.findResponseById(id)
+                    .orElseThrow(() -> new NotFoundException("Estudiante no encontrado"));
+        }
+        if (studentCache.isKnownMissing(id)) {
+            throw new NotFoundException("Estudiante no encontrado");
+        }
+        StudentResponse cached = studentCache.peek(id);
+        if (cached != null) {
+            return cached;
+        }
+        //Fallos de cache concurrentes del mismo id comparten una sola carga (la de Caffeine, sin timeout propio):
+        //la espera la acota app.batching.timeout del lote; aciertos y cargas en /api/metrics/cache/students
+        return studentCache.get(id, this::loadById);
+    }
+
+    //Solo fuera de transaccion: la cache se llena unicamente con datos confirmados
+    private StudentResponse loadById(Long id) {
+        return batchLoader.findById(id).orElseThrow(() -> missing(id));
+    }
+
+    //Recuerda el id inexistente (cache negativa) y devuelve la excepcion para lanzar
+    private NotFoundException missing(Long id) {
+        studentCache.markMissing(id);
+        return new NotFoundException("Estudiante no encontrado");
+    }
+
+    @Override
+    public long getVersion(Long id) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return repo.findVersionById(id)
+                    .orElseThrow(() -> new NotFoundException("Estudiante no encontrado"));
+        }
+        StudentResponse cached = studentCache.peek(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        if (studentCache.isKnownMissing(id)) {
+            throw new NotFoundException("Estudiante no encontrado");
+        }
+        return repo.findVersionById(id).orElseThrow(() -> missing(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentPageResponse list(String cursor, int limit) {
+        checkPageSize(limit);
+        long after = decodeCursor(cursor);
+        //Se pide un registro extra para saber si hay una pagina siguiente
+        List<StudentResponse> rows = repo.findResponsesAfter(after, PageRequest.ofSize(limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<StudentResponse> page = hasMore ? rows.subList(0, limit) : rows;
+        String next = hasMore ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+        StudentPageResponse response = new StudentPageResponse(page, next, limit);
+        long fingerprint = FINGERPRINT_SEED;
+        for (StudentResponse s : page) {
+            fingerprint = fingerprint(fingerprint, s.getId(), s.getVersion());
+        }
+        response.setFingerprint(fingerprint(fingerprint, limit, hasMore ? 1 : 0));
+        return response;
     }
 
     @Override
-    public List<StudentResponse> list() {
-        return repo.findAll().stream().map(this::toResponse).toList();
+    public long pageFingerprint(String cursor, int limit) {
+        checkPageSize(limit);
+        List<Object[]> rows = repo.findVersionsAfter(decodeCursor(cursor), PageRequest.ofSize(limit + 1));
+        boolean hasMore = rows.size() > limit;
+        long fingerprint = FINGERPRINT_SEED;
+        for (int i = 0; i < Math.min(limit, rows.size()); i++) {
+            fingerprint = fingerprint(fingerprint, ((Number) rows.get(i)[0]).longValue(),
+                    ((Number) rows.get(i)[1]).longValue());
+        }
+        return fingerprint(fingerprint, limit, hasMore ? 1 : 0);
+    }
+
+    private static void checkPageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("El limit debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+    }
+
+    //Mezcla tipo FNV-1a de 64 bits; cambia si cambia cualquier id o version de la pagina
+    private static long fingerprint(long hash, long a, long b) {
+        hash = (hash ^ a) * 0x100000001b3L;
+        hash = (hash ^ b) * 0x100000001b3L;
+        return hash ^ (hash >>> 29);
     }
 
     @Override
+    @Transactional
     public StudentResponse deactivate(Long id) {
-        Student student = repo.findById(id).orElseThrow(() -> new NotFoundException("Estudiante no encontrado"));
-        student.setActive(false);
-        return toResponse(repo.save(student));
+        return deactivate(id, null);
+    }
+
+    @Override
+    @Transactional
+    public StudentResponse deactivate(Long id, Long expectedVersion) {
+        //UPDATE condicional sin cargar la entidad; luego se lee el estado resultante
+        int updated = expectedVersion == null
+                ? repo.deactivateIfActive(id)
+                : repo.deactivateIfActiveAndVersion(id, expectedVersion);
+        boolean changed = updated == 1;
+        StudentResponse student = repo.findResponseById(id)
+                .orElseThrow(() -> new NotFoundException("Estudiante no encontrado"));
+        if (!changed && expectedVersion != null && student.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("El estudiante fue modificado (version " + student.getVersion() + ")");
+        }
+        if (changed) {
+            events.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.DEACTIVATED, student.getId(),
+                    student.getFullName(), student.getEmail(), student.getBirthDate(), false));
+        }
+        return student;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long writeByIds(List<Long> ids, OutputStream out) throws IOException {
+        //Sin repetidos, en el orden de la primera aparicion
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Long> missing = new ArrayList<>();
+        long found = 0;
+        try (JsonGenerator json = objectMapper.createGenerator(out)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            //Una consulta IN por bloque (una sola hasta IN_CHUNK ids); cada bloque se escribe al resolverse
+            for (int from = 0; from < requested.size(); from += IN_CHUNK) {
+                List<Long> chunk = requested.subList(from, Math.min(from + IN_CHUNK, requested.size()));
+                Map<Long, StudentResponse> byId = resolveByIds(chunk);
+                for (Long id : chunk) {
+                    StudentResponse student = byId.get(id);
+                    if (student == null) {
+                        missing.add(id);
+                    } else {
+                        json.writeObject(student);
+                        found++;
+                    }
+                }
+                json.flush();
+            }
+            json.writeEndArray();
+            json.writeArrayFieldStart("missing");
+            for (Long id : missing) {
+                json.writeNumber(id);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return found;
+    }
+
+    //Los que ya estan en la cache de getById no se consultan
+    private Map<Long, StudentResponse> resolveByIds(List<Long> ids) {
+        Map<Long, StudentResponse> byId = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long id : ids) {
+            StudentResponse cached = studentCache.peek(id);
+            if (cached != null) {
+                byId.put(id, cached);
+            } else {
+                toLoad.add(id);
+            }
+        }
+        if (!toLoad.isEmpty()) {
+            for (StudentResponse student : repo.findResponsesByIdIn(toLoad)) {
+                byId.put(student.getId(), student);
+            }
+        }
+        return byId;
     }
 
+    //Sin @Transactional propio: la comprobacion de abajo debe ver solo la transaccion del llamador
+    //(las consultas del repositorio ya son de solo lectura)
     @Override
     public List<StudentResponse> findByPartialName(String partialName) {
-        return repo.findByFullNameContainingIgnoreCase(partialName)
-                .stream()
-                .map(this::toResponse)
-                .toList();
+        //Igual que el auto-flush antes de una consulta: lo escrito en esta transaccion debe verse
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+            //Lo no confirmado de esta transaccion no se comparte con otros hilos
+            return searchByPartialName(partialName);
+        }
+        //Busquedas concurrentes del mismo termino comparten una sola consulta
+        String key = TrigramIndex.normalize(partialName);
+        return coalescer.byName(key, () -> Collections.unmodifiableList(searchByPartialName(partialName)));
+    }
+
+    private List<StudentResponse> searchByPartialName(String partialName) {
+        //Consultas de menos de 3 caracteres (o indice sin construir) van a la base
+        Optional<List<Long>> candidates = nameIndex.search(partialName);
+        if (candidates.isEmpty()) {
+            return repo.findResponsesByNameLike("%" + escapeLike(partialName.toLowerCase(Locale.ROOT)) + "%");
+        }
+        String needle = TrigramIndex.normalize(partialName);
+        List<Long> ids = candidates.get();
+        List<StudentResponse> matches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            for (StudentResponse student : repo.findResponsesByIdIn(ids.subList(from, Math.min(from + IN_CHUNK, ids.size())))) {
+                //La base sigue siendo la fuente de verdad del nombre
+                if (TrigramIndex.normalize(student.getFullName()).contains(needle)) {
+                    matches.add(student);
+                }
+            }
+        }
+        matches.sort(Comparator.comparing(StudentResponse::getId));
+        return matches;
+    }
+
+    @Override
+    public List<StudentSuggestion> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > suggestIndex.getMaxLimit()) {
+            throw new BadRequestException("El limit debe estar entre 1 y " + suggestIndex.getMaxLimit());
+        }
+        return suggestIndex.suggest(prefix, limit);
     }
 
     @Override
     public StudentStatsResponse getStats() {
-        long total = repo.count();
-        long activos = repo.countByActiveTrue();
-        long inactivos = repo.countByActiveFalse();
-        return new StudentStatsResponse(total, activos, inactivos);
+        //Sin consulta: contadores en memoria reconciliados periodicamente
+        return statsCounter.snapshot();
+    }
+
+    @Override
+    public StudentDemographicsResponse getDemographics() {
+        //Sin consulta: los recuentos pendientes los hace el scheduler
+        return demographics.snapshot();
+    }
+
+    @Override
+    public StatsReconciliationResponse getStatsReconciliation() {
+        return statsCounter.getLastReconciliation();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        StudentExportWriter writer = StudentExportWriter.create(format, out, objectMapper);
+        long count = 0;
+        try (Stream<Student> rows = repo.streamAll()) {
+            Iterator<Student> it = rows.iterator();
+            while (it.hasNext()) {
+                Student student = it.next();
+                writer.write(toResponse(student));
+                //Se desprende cada fila para que el contexto de persistencia no crezca
+                entityManager.detach(student);
+                count++;
+            }
+        }
+        writer.finish();
+        return count;
+    }
+
+    //El cursor es el ultimo id entregado, codificado en Base64 URL-safe
+    public static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return Long.parseLong(raw);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Cursor invalido");
+        }
+    }
+
+    //Escapa los comodines de LIKE con '!' (el escape de findResponsesByNameLike)
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Student toEntity(StudentRequestData request) {
+        Student student = new Student();
+        student.setFullName(request.getFullName());
+        student.setEmail(request.getEmail());
+        student.setBirthDate(request.getBirthDate());
+        student.setActive(true);
+        return student;
     }
 
-    private StudentResponse toResponse(Student student){
+    //Estatico y de paquete para medirlo en los benchmarks JMH (src/jmh)
+    static StudentResponse toResponse(Student student){
         StudentResponse r = new StudentResponse();
         r.setId(student.getId());
         r.setFullName(student.getFullName());
         r.setEmail(student.getEmail());
         r.setBirthDate(student.getBirthDate());
         r.setActive(student.getActive());
+        r.setVersion(student.getVersion());
         return r;
     }
 }
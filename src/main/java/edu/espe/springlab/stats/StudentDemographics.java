@@ -0,0 +1,203 @@
+package edu.espe.springlab.stats;
+
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.dto.DemographicBucket;
+import edu.espe.springlab.dto.StudentDemographicsResponse;
+import edu.espe.springlab.repository.StudentRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribucion por edad y año de nacimiento (activos/inactivos) mantenida en memoria.
+ * Se cuenta por fecha de nacimiento exacta, asi la edad se calcula bien el dia que se consulta;
+ * el conteo sale de un solo GROUP BY y luego se ajusta con cada cambio confirmado.
+ * Solo UPDATED (sin los valores anteriores) obliga a recontar; eso lo hace el scheduler,
+ * nunca la lectura del dashboard.
+ */
+@Component
+public class StudentDemographics {
+    //Limites inferiores de cada rango de edad (el primero es "<18")
+    static final int[] AGE_BOUNDS = {18, 21, 25, 30, 40, 50, 65};
+
+    private final StudentRepository repo;
+
+    private volatile ConcurrentMap<LocalDate, Counts> byBirthDate = new ConcurrentHashMap<>();
+    private volatile Counts unknown = new Counts();
+    private volatile boolean dirty = true;
+    //Sube con cada cambio; la respuesta cacheada solo vale para la version con que se calculo
+    private final AtomicLong changes = new AtomicLong();
+    private volatile Cached cached;
+
+    public StudentDemographics(StudentRepository repo) {
+        this.repo = repo;
+    }
+
+    public StudentDemographicsResponse snapshot() {
+        LocalDate today = LocalDate.now();
+        Cached current = cached;
+        long version = changes.get();
+        if (current != null && current.version == version && current.response.getAsOf().equals(today)) {
+            return current.response;
+        }
+        StudentDemographicsResponse response = compute(today);
+        cached = new Cached(version, response);
+        return response;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        //Antes de tocar el conteo: si rebuild lo reemplaza en medio, ya ve este cambio y repite
+        changes.incrementAndGet();
+        switch (event.getType()) {
+            case CREATED -> count(event.getBirthDate(), event.getActive(), 1);
+            case DELETED -> count(event.getBirthDate(), event.getActive(), -1);
+            case DEACTIVATED -> {
+                count(event.getBirthDate(), true, -1);
+                count(event.getBirthDate(), false, 1);
+            }
+            //Puede cambiar la fecha o el estado sin conocer los valores anteriores
+            case UPDATED -> dirty = true;
+        }
+    }
+
+    //true si hay un recuento pendiente (lo hace rebuildIfDirty)
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    private void count(LocalDate birthDate, Boolean active, long delta) {
+        Counts counts = birthDate == null ? unknown : byBirthDate.computeIfAbsent(birthDate, k -> new Counts());
+        counts.add(active, delta);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    //Corrige la deriva por cambios fuera de la aplicacion, igual que StudentStatsCounter
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT1M}",
+            initialDelayString = "${app.stats.reconcile-interval:PT1M}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    //Recuento pendiente por un UPDATED o por cambios durante otro recuento; fuera del hilo de la peticion
+    @Scheduled(fixedDelayString = "${app.stats.dirty-rebuild-delay:PT5S}",
+            initialDelayString = "${app.stats.dirty-rebuild-delay:PT5S}")
+    public void rebuildIfDirty() {
+        if (dirty) {
+            rebuild();
+        }
+    }
+
+    //Recuenta todo con una sola consulta agrupada por (birthDate, active)
+    public synchronized void rebuild() {
+        dirty = false;
+        long seen = changes.get();
+        ConcurrentMap<LocalDate, Counts> fresh = new ConcurrentHashMap<>();
+        Counts freshUnknown = new Counts();
+        try {
+            for (Object[] row : repo.countGroupedByBirthDateAndActive()) {
+                LocalDate birthDate = (LocalDate) row[0];
+                Counts counts = birthDate == null ? freshUnknown : fresh.computeIfAbsent(birthDate, k -> new Counts());
+                counts.add((Boolean) row[1], ((Number) row[2]).longValue());
+            }
+        } catch (RuntimeException ex) {
+            dirty = true;
+            throw ex;
+        }
+        byBirthDate = fresh;
+        unknown = freshUnknown;
+        //Un cambio aplicado al conteo viejo durante la consulta se perderia: se recalcula otra vez
+        if (changes.getAndIncrement() != seen) {
+            dirty = true;
+        }
+    }
+
+    private StudentDemographicsResponse compute(LocalDate today) {
+        long[][] ages = new long[AGE_BOUNDS.length + 1][2];
+        Map<Integer, long[]> years = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<LocalDate, Counts> entry : byBirthDate.entrySet()) {
+            long activos = entry.getValue().activos.sum();
+            long inactivos = entry.getValue().inactivos.sum();
+            if (activos == 0 && inactivos == 0) {
+                continue;
+            }
+            long[] age = ages[ageBucket(entry.getKey(), today)];
+            age[0] += activos;
+            age[1] += inactivos;
+            long[] year = years.computeIfAbsent(entry.getKey().getYear(), k -> new long[2]);
+            year[0] += activos;
+            year[1] += inactivos;
+            total += activos + inactivos;
+        }
+        List<DemographicBucket> ageBuckets = new ArrayList<>(ages.length);
+        for (int i = 0; i < ages.length; i++) {
+            ageBuckets.add(new DemographicBucket(ageLabel(i), ages[i][0], ages[i][1]));
+        }
+        List<DemographicBucket> birthYears = new ArrayList<>(years.size());
+        years.forEach((year, c) -> birthYears.add(new DemographicBucket(String.valueOf(year), c[0], c[1])));
+        Counts noDate = unknown;
+        DemographicBucket unknownBucket = new DemographicBucket("unknown", noDate.activos.sum(), noDate.inactivos.sum());
+        total += unknownBucket.getActivos() + unknownBucket.getInactivos();
+        return new StudentDemographicsResponse(today, total, ageBuckets, birthYears, unknownBucket);
+    }
+
+    static int ageBucket(LocalDate birthDate, LocalDate today) {
+        int age = Math.max(0, Period.between(birthDate, today).getYears());
+        int bucket = 0;
+        while (bucket < AGE_BOUNDS.length && age >= AGE_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    static String ageLabel(int bucket) {
+        if (bucket == 0) {
+            return "<" + AGE_BOUNDS[0];
+        }
+        if (bucket == AGE_BOUNDS.length) {
+            return AGE_BOUNDS[bucket - 1] + "+";
+        }
+        return AGE_BOUNDS[bucket - 1] + "-" + (AGE_BOUNDS[bucket] - 1);
+    }
+
+    private static final class Counts {
+        final LongAdder activos = new LongAdder();
+        final LongAdder inactivos = new LongAdder();
+
+        void add(Boolean active, long delta) {
+            if (Boolean.TRUE.equals(active)) {
+                activos.add(delta);
+            } else if (Boolean.FALSE.equals(active)) {
+                inactivos.add(delta);
+            }
+        }
+    }
+
+    private static final class Cached {
+        final long version;
+        final StudentDemographicsResponse response;
+
+        Cached(long version, StudentDemographicsResponse response) {
+            this.version = version;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.espe.springlab.stats;
+
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.dto.StatsReconciliationResponse;
+import edu.espe.springlab.dto.StudentStatsResponse;
+import edu.espe.springlab.repository.StudentRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de estudiantes mantenidos en memoria: /stats se responde sin consultar la base.
+ * Se actualizan con cada cambio confirmado y se reconcilian contra la base periodicamente:
+ * la reconciliacion reemplaza los contadores por los valores absolutos de la consulta.
+ */
+@Component
+public class StudentStatsCounter {
+    //Intentos de reconciliacion seguidos si llegan cambios durante la consulta
+    static final int MAX_RECONCILE_ATTEMPTS = 3;
+
+    private final StudentRepository repo;
+
+    private volatile Counts counts = new Counts();
+    //Sube con cada cambio; asi la reconciliacion sabe si llegaron eventos durante la consulta
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong reconciliations = new AtomicLong();
+    private volatile StatsReconciliationResponse lastReconciliation;
+
+    public StudentStatsCounter(StudentRepository repo) {
+        this.repo = repo;
+    }
+
+    public StudentStatsResponse snapshot() {
+        Counts current = counts;
+        return new StudentStatsResponse(current.total.sum(), current.activos.sum(), current.inactivos.sum());
+    }
+
+    public StatsReconciliationResponse getLastReconciliation() {
+        return lastReconciliation;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        //Primero el contador de cambios: un evento que toma los contadores viejos ya es visible para reconcile
+        changes.incrementAndGet();
+        Counts current = counts;
+        switch (event.getType()) {
+            case CREATED -> {
+                current.total.increment();
+                current.countActive(event.getActive(), 1);
+            }
+            case DEACTIVATED -> {
+                current.activos.decrement();
+                current.inactivos.increment();
+            }
+            case DELETED -> {
+                current.total.decrement();
+                current.countActive(event.getActive(), -1);
+            }
+            case UPDATED -> {
+                //Los cambios de estado llegan como DEACTIVATED; el resto no afecta a los contadores
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT1M}",
+            initialDelayString = "${app.stats.reconcile-interval:PT1M}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    //Corrige la deriva (cambios por fuera de JPA, carreras, etc.) con los valores de la base.
+    //Si llegan cambios durante la consulta no se sabe si esta ya los incluia: se repite la consulta
+    public synchronized StatsReconciliationResponse reconcile() {
+        StatsReconciliationResponse report = null;
+        for (int attempt = 0; attempt < MAX_RECONCILE_ATTEMPTS; attempt++) {
+            long seen = changes.get();
+            StudentStatsResponse before = snapshot();
+            long dbActivos = 0;
+            long dbInactivos = 0;
+            long dbTotal = 0;
+            for (Object[] row : repo.countGroupedByActive()) {
+                long count = ((Number) row[1]).longValue();
+                dbTotal += count;
+                if (Boolean.TRUE.equals(row[0])) {
+                    dbActivos = count;
+                } else if (Boolean.FALSE.equals(row[0])) {
+                    dbInactivos = count;
+                }
+            }
+            counts = new Counts(dbTotal, dbActivos, dbInactivos);
+            //La deriva es solo informativa: no se suma nada calculado sobre la foto anterior
+            report = new StatsReconciliationResponse(LocalDateTime.now(),
+                    new StudentStatsResponse(dbTotal, dbActivos, dbInactivos),
+                    dbTotal - before.getTotal(), dbActivos - before.getActivos(),
+                    dbInactivos - before.getInactivos(), reconciliations.incrementAndGet());
+            //Si siguen llegando cambios, lo que quede lo corrige la siguiente reconciliacion programada
+            if (changes.get() == seen) {
+                break;
+            }
+        }
+        lastReconciliation = report;
+        return report;
+    }
+
+    private static final class Counts {
+        final LongAdder total = new LongAdder();
+        final LongAdder activos = new LongAdder();
+        final LongAdder inactivos = new LongAdder();
+
+        Counts() {
+        }
+
+        Counts(long total, long activos, long inactivos) {
+            this.total.add(total);
+            this.activos.add(activos);
+            this.inactivos.add(inactivos);
+        }
+
+        void countActive(Boolean active, int delta) {
+            if (Boolean.TRUE.equals(active)) {
+                activos.add(delta);
+            } else if (Boolean.FALSE.equals(active)) {
+                inactivos.add(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package edu.espe.springlab.web.advice;
+
+//Sin stack trace: es una respuesta esperada (entrada invalida), no un error del programa
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message, null, false, false);
+    }
+}
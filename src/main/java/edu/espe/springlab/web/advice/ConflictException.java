@@ -1,7 +1,8 @@
 package edu.espe.springlab.web.advice;
 
+//Sin stack trace: es un resultado esperado del negocio, no un error del programa
 public class ConflictException extends RuntimeException {
     public ConflictException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -1,6 +1,7 @@
 package edu.espe.springlab.web.advice;
 
-import org.apache.coyote.BadRequestException;
+import edu.espe.springlab.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -29,17 +30,35 @@ public class GlobalExceptionHandler {
         return error(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    //412 cuando el If-Match no coincide con la version actual
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<?> handlePreconditionFailed(PreconditionFailedException ex){
+        return error(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    //429 cuando la cola de altas asincronas esta llena; el cliente reintenta tras Retry-After
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> handleTooManyRequests(TooManyRequestsException ex){
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(LocalDateTime.now(), status.value(), status.getReasonPhrase(), ex.getMessage(), null));
+    }
+
+    //400 por parametros invalidos (cursor, limit, etc.)
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<?> handleBadRequest(BadRequestException ex){
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
     //400 por validaciones
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidation(MethodArgumentNotValidException ex){
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
         Map<String, String> errors = new HashMap<>();
         for(FieldError field : ex.getBindingResult().getFieldErrors()){
             errors.put(field.getField(), field.getDefaultMessage());
         }
-        body.put("errors", errors);
+        ErrorResponse body = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), null, null, errors);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
@@ -50,12 +69,8 @@ public class GlobalExceptionHandler {
     }
 
     //Construye el JSON estandar de error
-    private ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", status.value());
-        body.put("error", status.getReasonPhrase());
-        body.put("message", message);
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        ErrorResponse body = new ErrorResponse(LocalDateTime.now(), status.value(), status.getReasonPhrase(), message, null);
         return ResponseEntity.status(status).body(body);
     }
 }
@@ -0,0 +1,8 @@
+package edu.espe.springlab.web.advice;
+
+//Sin stack trace: es una respuesta esperada (version desactualizada), no un error del programa
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message, null, false, false);
+    }
+}
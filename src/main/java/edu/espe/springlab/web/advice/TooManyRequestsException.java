@@ -0,0 +1,8 @@
+package edu.espe.springlab.web.advice;
+
+//Sin stack trace: es contrapresion esperada (cola llena), no un error del programa
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,114 @@
+package edu.espe.springlab.web.controller;
+
+import edu.espe.springlab.cache.StudentBatchLoader;
+import edu.espe.springlab.cache.StudentCache;
+import edu.espe.springlab.cache.StudentReadCoalescer;
+import edu.espe.springlab.datasource.ConnectionLimiter;
+import edu.espe.springlab.dto.BatchLoaderStatsResponse;
+import edu.espe.springlab.dto.BloomFilterStatsResponse;
+import edu.espe.springlab.dto.CacheStatsResponse;
+import edu.espe.springlab.dto.CoalescingStatsResponse;
+import edu.espe.springlab.dto.ConnectionLimiterStatsResponse;
+import edu.espe.springlab.dto.IngestionStatsResponse;
+import edu.espe.springlab.dto.RouteLatencyResponse;
+import edu.espe.springlab.index.EmailBloomFilter;
+import edu.espe.springlab.metrics.LatencyRegistry;
+import edu.espe.springlab.metrics.PhaseTimingRegistry;
+import edu.espe.springlab.service.StudentIngestionService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+//Metricas internas de las estructuras en memoria (caches, indices, etc.)
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final StudentCache studentCache;
+    private final EmailBloomFilter emailFilter;
+    private final LatencyRegistry latencies;
+    private final PhaseTimingRegistry phaseTimings;
+    private final ObjectProvider<ConnectionLimiter> connectionLimiter;
+    private final StudentReadCoalescer coalescer;
+    private final StudentBatchLoader batchLoader;
+    private final StudentIngestionService ingestionService;
+
+    public MetricsController(StudentCache studentCache, EmailBloomFilter emailFilter, LatencyRegistry latencies,
+                             PhaseTimingRegistry phaseTimings, ObjectProvider<ConnectionLimiter> connectionLimiter,
+                             StudentReadCoalescer coalescer, StudentBatchLoader batchLoader,
+                             StudentIngestionService ingestionService) {
+        this.studentCache = studentCache;
+        this.emailFilter = emailFilter;
+        this.latencies = latencies;
+        this.phaseTimings = phaseTimings;
+        this.connectionLimiter = connectionLimiter;
+        this.coalescer = coalescer;
+        this.batchLoader = batchLoader;
+        this.ingestionService = ingestionService;
+    }
+
+    //Percentiles de latencia por ruta y clase de estado
+    @GetMapping("/latency")
+    public ResponseEntity<List<RouteLatencyResponse>> latency() {
+        return ResponseEntity.ok(latencies.snapshot());
+    }
+
+    //Percentiles por ruta de cada fase del header Server-Timing (db, service, ser)
+    @GetMapping("/server-timing")
+    public ResponseEntity<List<RouteLatencyResponse>> serverTiming() {
+        return ResponseEntity.ok(phaseTimings.snapshot());
+    }
+
+    //Espera en cola por conexiones; 404 si el limitador no esta activo (app.db-limiter.enabled)
+    @GetMapping("/db-limiter")
+    public ResponseEntity<ConnectionLimiterStatsResponse> connectionLimiterStats() {
+        ConnectionLimiter limiter = connectionLimiter.getIfAvailable();
+        return limiter != null ? ResponseEntity.ok(limiter.stats()) : ResponseEntity.notFound().build();
+    }
+
+    //Llamadas agrupadas (collapsed) frente a consultas ejecutadas por tipo de lectura
+    @GetMapping("/coalescing")
+    public ResponseEntity<List<CoalescingStatsResponse>> coalescingStats() {
+        return ResponseEntity.ok(coalescer.stats());
+    }
+
+    //Histograma de tamaños de lote de getById (claves por consulta IN)
+    @GetMapping("/batching")
+    public ResponseEntity<BatchLoaderStatsResponse> batchingStats() {
+        return ResponseEntity.ok(batchLoader.stats());
+    }
+
+    //Ocupacion de la cola de altas asincronas, rechazos (429) y lotes vaciados
+    @GetMapping("/ingestion")
+    public ResponseEntity<IngestionStatsResponse> ingestionStats() {
+        return ResponseEntity.ok(ingestionService.stats());
+    }
+
+    @GetMapping("/cache/students")
+    public ResponseEntity<CacheStatsResponse> studentCacheStats() {
+        return ResponseEntity.ok(studentCache.stats());
+    }
+
+    //Cache negativa de ids inexistentes
+    @GetMapping("/cache/students-missing")
+    public ResponseEntity<CacheStatsResponse> missingStudentCacheStats() {
+        return ResponseEntity.ok(studentCache.missingStats());
+    }
+
+    @GetMapping("/bloom/emails")
+    public ResponseEntity<BloomFilterStatsResponse> emailBloomStats() {
+        return ResponseEntity.ok(emailFilter.stats());
+    }
+
+    //Reconstruye el filtro de emails (por ejemplo si esta saturado)
+    @PostMapping("/bloom/emails/rebuild")
+    public ResponseEntity<BloomFilterStatsResponse> rebuildEmailBloom() {
+        emailFilter.rebuild();
+        return ResponseEntity.ok(emailFilter.stats());
+    }
+}
@@ -0,0 +1,48 @@
+package edu.espe.springlab.web.controller;
+
+import edu.espe.springlab.dto.StudentResponse;
+import edu.espe.springlab.repository.ReactiveStudentRepository;
+import edu.espe.springlab.web.advice.BadRequestException;
+import edu.espe.springlab.web.advice.NotFoundException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lecturas no bloqueantes: el hilo de Tomcat se libera mientras R2DBC consulta.
+ * Con Accept: application/x-ndjson los listados se envian fila a fila con backpressure;
+ * con application/json se devuelven como arreglo. Las escrituras siguen en StudentController.
+ */
+@RestController
+@RequestMapping("/api/reactive/students")
+public class ReactiveStudentController {
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final ReactiveStudentRepository repository;
+
+    public ReactiveStudentController(ReactiveStudentRepository repository) {
+        this.repository = repository;
+    }
+
+    @GetMapping("/{id}")
+    public Mono<StudentResponse> getById(@PathVariable Long id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Estudiante no encontrado")));
+    }
+
+    //Listado por clave: /api/reactive/students?after=<ultimo id>&limit=50
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<StudentResponse> list(@RequestParam(defaultValue = "0") long after,
+                                      @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        return repository.findAfter(after, limit);
+    }
+
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<StudentResponse> search(@RequestParam String name) {
+        return repository.searchByName(name);
+    }
+}
@@ -1,43 +1,161 @@
 package edu.espe.springlab.web.controller;
 
+import edu.espe.springlab.dto.BulkDeactivationJobResponse;
+import edu.espe.springlab.dto.BulkDeactivationRequest;
+import edu.espe.springlab.dto.IngestionStatusResponse;
+import edu.espe.springlab.dto.StatsReconciliationResponse;
+import edu.espe.springlab.dto.StudentBatchResponse;
+import edu.espe.springlab.dto.StudentDemographicsResponse;
+import edu.espe.springlab.dto.StudentImportJobResponse;
+import edu.espe.springlab.dto.StudentPageResponse;
 import edu.espe.springlab.dto.StudentRequestData;
 import edu.espe.springlab.dto.StudentResponse;
 import edu.espe.springlab.dto.StudentStatsResponse;
+import edu.espe.springlab.dto.StudentSuggestion;
+import edu.espe.springlab.service.BulkDeactivationService;
+import edu.espe.springlab.service.ExportFormat;
+import edu.espe.springlab.service.StudentImportService;
+import edu.espe.springlab.service.StudentIngestionService;
 import edu.espe.springlab.service.StudentService;
+import edu.espe.springlab.web.advice.BadRequestException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/students")
 public class StudentController {
+    static final int MAX_MULTI_GET_IDS = 10_000;
 
     private final StudentService studentService;
+    private final BulkDeactivationService bulkDeactivationService;
+    private final StudentIngestionService ingestionService;
+    private final StudentImportService importService;
 
-    public StudentController(StudentService studentService) { this.studentService = studentService; }
+    public StudentController(StudentService studentService, BulkDeactivationService bulkDeactivationService,
+                             StudentIngestionService ingestionService, StudentImportService importService) {
+        this.studentService = studentService;
+        this.bulkDeactivationService = bulkDeactivationService;
+        this.ingestionService = ingestionService;
+        this.importService = importService;
+    }
 
     @PostMapping
     public ResponseEntity<StudentResponse> create(@Valid @RequestBody StudentRequestData request){
         return ResponseEntity.status(HttpStatus.CREATED).body(studentService.create(request));
     }
 
+    //Alta asincrona: valida, encola y responde 202 con el id de seguimiento (429 si la cola esta llena)
+    @PostMapping("/async")
+    public ResponseEntity<IngestionStatusResponse> createAsync(@Valid @RequestBody StudentRequestData request){
+        IngestionStatusResponse status = ingestionService.submit(request);
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/students/async/" + status.getTrackingId())
+                .body(status);
+    }
+
+    //Resultado del alta asincrona (QUEUED hasta que el lote se confirma)
+    @GetMapping("/async/{trackingId}")
+    public ResponseEntity<IngestionStatusResponse> getAsyncStatus(@PathVariable String trackingId){
+        return ResponseEntity.ok(ingestionService.getStatus(trackingId));
+    }
+
+    //Alta masiva: responde el resultado de cada elemento (created/conflict/invalid)
+    @PostMapping("/batch")
+    public ResponseEntity<StudentBatchResponse> createBatch(@RequestBody List<StudentRequestData> requests){
+        return ResponseEntity.ok(studentService.createBatch(requests));
+    }
+
+    //Con If-None-Match solo se consulta la version: si no cambio responde 304 sin cuerpo
     @GetMapping("/{id}")
-    public ResponseEntity<StudentResponse> getById(@PathVariable Long id){
-        return ResponseEntity.ok(studentService.getById(id));
+    public ResponseEntity<StudentResponse> getById(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        if (ifNoneMatch != null) {
+            String etag = StudentETags.of(id, studentService.getVersion(id));
+            if (StudentETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        StudentResponse student = studentService.getById(id);
+        return ResponseEntity.ok().eTag(StudentETags.of(student)).body(student);
     }
 
+    //Listado paginado por cursor: /api/students?limit=50&cursor=<nextCursor>
     @GetMapping
-    public ResponseEntity<List<StudentResponse>> getAll(){
-        return ResponseEntity.ok(studentService.list());
+    public ResponseEntity<StudentPageResponse> getAll(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "50") int limit,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        //ETag de la pagina a partir de (id, version) de sus filas, sin leer ni serializar el resto
+        if (ifNoneMatch != null) {
+            String etag = StudentETags.ofPage(studentService.pageFingerprint(cursor, limit));
+            if (StudentETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        StudentPageResponse page = studentService.list(cursor, limit);
+        return ResponseEntity.ok().eTag(StudentETags.ofPage(page.getFingerprint())).body(page);
+    }
+
+    //Multi-get: /api/students?ids=3,1,2 responde {"items":[...],"missing":[...]} en el orden pedido
+    @GetMapping(params = "ids")
+    public ResponseEntity<StreamingResponseBody> getByIds(@RequestParam List<Long> ids){
+        return multiGet(ids);
+    }
+
+    //Misma consulta con los ids en el cuerpo (JSON array) para conjuntos que no caben en la URL
+    @PostMapping("/lookup")
+    public ResponseEntity<StreamingResponseBody> lookup(@RequestBody List<Long> ids){
+        return multiGet(ids);
+    }
+
+    //Se valida antes de empezar el streaming: despues ya no se puede responder 400
+    private ResponseEntity<StreamingResponseBody> multiGet(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_MULTI_GET_IDS) {
+            throw new BadRequestException("Se requieren entre 1 y " + MAX_MULTI_GET_IDS + " ids");
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestException("Los ids no pueden ser nulos");
+        }
+        StreamingResponseBody body = out -> studentService.writeByIds(ids, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     //Kevin Lechon
     //Desactivar un estudiante
+    //Con If-Match solo se desactiva si la version no cambio (412 si cambio)
     @PatchMapping("/{id}/deactivate")
-    public ResponseEntity<StudentResponse> deactivate(@PathVariable Long id){
-        return ResponseEntity.ok(studentService.deactivate(id));
+    public ResponseEntity<StudentResponse> deactivate(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        StudentResponse student = studentService.deactivate(id, StudentETags.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(StudentETags.of(student)).body(student);
+    }
+
+    //Desactivacion masiva en segundo plano (por ids o rango de birthDate); responde 202 con el trabajo
+    //(429 si ya hay demasiados trabajos pendientes)
+    @PostMapping("/deactivations")
+    public ResponseEntity<BulkDeactivationJobResponse> deactivateBulk(@RequestBody BulkDeactivationRequest request){
+        BulkDeactivationJobResponse job = bulkDeactivationService.submit(request);
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/students/deactivations/" + job.getJobId())
+                .body(job);
+    }
+
+    //Avance del trabajo de desactivacion masiva
+    @GetMapping("/deactivations/{jobId}")
+    public ResponseEntity<BulkDeactivationJobResponse> getDeactivationJob(@PathVariable String jobId){
+        return ResponseEntity.ok(bulkDeactivationService.getStatus(jobId));
     }
 
     //Entrega el total de estudiantes y el total de estudiantes activos
@@ -47,9 +165,108 @@ public class StudentController {
         return ResponseEntity.ok(studentService.getStats());
     }
 
+    //Rangos de edad e histograma por año de nacimiento, separados en activos/inactivos
+    @GetMapping("/stats/demographics")
+    public ResponseEntity<StudentDemographicsResponse> getDemographics(){
+        return ResponseEntity.ok(studentService.getDemographics());
+    }
+
+    //Deriva encontrada en la ultima reconciliacion de los contadores de /stats
+    @GetMapping("/stats/reconciliation")
+    public ResponseEntity<StatsReconciliationResponse> getStatsReconciliation(){
+        return ResponseEntity.ok(studentService.getStatsReconciliation());
+    }
+
     //Kevin Lechon
     @GetMapping("/search")
     public ResponseEntity<List<StudentResponse>> searchByName(@RequestParam String name){
         return ResponseEntity.ok(studentService.findByPartialName(name));
     }
+
+    //Autocompletado por prefijo de nombre: /api/students/suggest?prefix=an&limit=10
+    @GetMapping("/suggest")
+    public ResponseEntity<List<StudentSuggestion>> suggest(@RequestParam String prefix,
+                                                           @RequestParam(defaultValue = "10") int limit){
+        return ResponseEntity.ok(studentService.suggest(prefix, limit));
+    }
+
+    //Exporta todos los estudiantes en streaming: /api/students/export?format=csv&gzip=true
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip){
+        ExportFormat exportFormat = parseFormat(format);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream zip = new GZIPOutputStream(out, 64 * 1024);
+                studentService.export(exportFormat, zip);
+                zip.finish();
+            } else {
+                studentService.export(exportFormat, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"students." + exportFormat.getExtension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    //Importacion en segundo plano: el cuerpo (CSV con cabecera o NDJSON, gzip opcional) se guarda y se procesa
+    //despues. Responde 202 con el trabajo al terminar la subida; el avance se consulta en Location
+    @PostMapping("/imports")
+    public ResponseEntity<StudentImportJobResponse> importStudents(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request) throws IOException {
+        ExportFormat importFormat = format != null ? parseFormat(format) : formatOf(request.getContentType());
+        InputStream in = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(contentEncoding)) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        StudentImportJobResponse job = importService.importStudents(importFormat, in);
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/students/imports/" + job.getJobId())
+                .body(job);
+    }
+
+    //Importaciones en curso y recientes con su avance
+    @GetMapping("/imports")
+    public ResponseEntity<List<StudentImportJobResponse>> getImports(){
+        return ResponseEntity.ok(importService.list());
+    }
+
+    @GetMapping("/imports/{jobId}")
+    public ResponseEntity<StudentImportJobResponse> getImport(@PathVariable String jobId){
+        return ResponseEntity.ok(importService.getStatus(jobId));
+    }
+
+    //Filas rechazadas (line,reason,record) para corregirlas y volver a importarlas
+    @GetMapping("/imports/{jobId}/rejects")
+    public ResponseEntity<StreamingResponseBody> getImportRejects(@PathVariable String jobId){
+        //404 antes de empezar el streaming
+        importService.getStatus(jobId);
+        StreamingResponseBody body = out -> importService.writeRejects(jobId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportFormat.CSV.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"rejects-" + jobId + ".csv\"")
+                .body(body);
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Formato no soportado: " + format);
+        }
+    }
+
+    //Sin ?format= se deduce del Content-Type; NDJSON por defecto
+    private static ExportFormat formatOf(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv")
+                ? ExportFormat.CSV
+                : ExportFormat.NDJSON;
+    }
 }
@@ -0,0 +1,54 @@
+package edu.espe.springlab.web.controller;
+
+import edu.espe.springlab.dto.StudentResponse;
+import edu.espe.springlab.web.advice.PreconditionFailedException;
+
+//Formato de los ETag de estudiantes: "<id>-<version>" por recurso y "p<huella>" por pagina
+final class StudentETags {
+
+    private StudentETags() {}
+
+    static String of(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String of(StudentResponse student) {
+        return of(student.getId(), student.getVersion());
+    }
+
+    static String ofPage(long fingerprint) {
+        return "\"p" + Long.toHexString(fingerprint) + "\"";
+    }
+
+    //If-None-Match usa comparacion debil: acepta W/, listas separadas por coma y "*"
+    static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Version esperada segun If-Match; null si no hay condicion ("*" o sin header)
+    static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        //If-Match usa comparacion fuerte: un ETag debil o de otro recurso nunca coincide
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            throw new PreconditionFailedException("If-Match no corresponde a este estudiante");
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match invalido");
+        }
+    }
+}
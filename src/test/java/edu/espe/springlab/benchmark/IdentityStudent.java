@@ -0,0 +1,62 @@
+package edu.espe.springlab.benchmark;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+//Student con el id IDENTITY de antes de Snowflake: linea base de StudentInsertBenchmarkTest
+@Entity
+@Table(name = "students_identity_bench")
+public class IdentityStudent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 120)
+    private String fullName;
+
+    @Column(nullable = false, unique = true, length = 120)
+    private String email;
+
+    private LocalDate birthDate;
+
+    private Boolean active = true;
+
+    public IdentityStudent() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,115 @@
+package edu.espe.springlab.benchmark;
+
+import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara el throughput de INSERT antes y despues del id asignado en la aplicacion, por el
+ * mismo camino (repository.saveAll en una transaccion) y con el mismo batch_size.
+ * Antes: entidad con id IDENTITY; Hibernate inserta cada fila al persistirla para leer la clave.
+ * Despues: id Snowflake, Hibernate agrupa los INSERT con hibernate.jdbc.batch_size.
+ * Se ejecuta con: ./gradlew benchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=50")
+public class StudentInsertBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int WARMUP_ROWS = 1_000;
+
+    //Anidado: el escaneo de repositorios no lo registra, solo lo usa este benchmark
+    public interface IdentityStudentRepository extends JpaRepository<IdentityStudent, Long> {
+    }
+
+    @Autowired
+    private StudentRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("delete from students where email like 'bench-%'");
+        jdbc.update("delete from students_identity_bench");
+    }
+
+    @Test
+    void compareIdentityVersusSnowflakeInserts() {
+        IdentityStudentRepository identityRepository = new JpaRepositoryFactory(entityManager)
+                .getRepository(IdentityStudentRepository.class);
+
+        // Calentamiento de ambos caminos (JIT, sentencias preparadas)
+        insertIdentity(identityRepository, "warmup", WARMUP_ROWS);
+        insertSnowflake("warmup", WARMUP_ROWS);
+
+        // Antes: IDENTITY, un INSERT por fila al persistir
+        long identityNanos = time(() -> insertIdentity(identityRepository, "run", ROWS));
+
+        // Despues: ids Snowflake, Hibernate agrupa los INSERT en batches
+        long snowflakeNanos = time(() -> insertSnowflake("run", ROWS));
+
+        System.out.printf("IDENTITY  : %,d filas en %d ms (%,.0f filas/s)%n",
+                ROWS, identityNanos / 1_000_000, ROWS / (identityNanos / 1e9));
+        System.out.printf("SNOWFLAKE : %,d filas en %d ms (%,.0f filas/s)%n",
+                ROWS, snowflakeNanos / 1_000_000, ROWS / (snowflakeNanos / 1e9));
+        assertEquals(ROWS + WARMUP_ROWS, jdbc.queryForObject(
+                "select count(*) from students_identity_bench", Integer.class));
+        assertEquals(ROWS + WARMUP_ROWS, jdbc.queryForObject(
+                "select count(*) from students where email like 'bench-snowflake-%'", Integer.class));
+    }
+
+    private void insertIdentity(IdentityStudentRepository identityRepository, String label, int rows) {
+        tx.executeWithoutResult(status -> {
+            List<IdentityStudent> students = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                IdentityStudent s = new IdentityStudent();
+                s.setFullName("Bench Identity " + i);
+                s.setEmail("bench-identity-" + label + "-" + i + "@example.com");
+                s.setActive(true);
+                students.add(s);
+            }
+            identityRepository.saveAll(students);
+        });
+    }
+
+    private void insertSnowflake(String label, int rows) {
+        tx.executeWithoutResult(status -> {
+            List<Student> students = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                Student s = new Student();
+                s.setFullName("Bench Snowflake " + i);
+                s.setEmail("bench-snowflake-" + label + "-" + i + "@example.com");
+                s.setActive(true);
+                students.add(s);
+            }
+            repository.saveAll(students);
+        });
+    }
+
+    private static long time(Runnable work) {
+        long t0 = System.nanoTime();
+        work.run();
+        return System.nanoTime() - t0;
+    }
+}
@@ -0,0 +1,102 @@
+package edu.espe.springlab.benchmark;
+
+import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.metrics.LatencyHistogram;
+import edu.espe.springlab.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara hilos de plataforma contra hilos virtuales con muchos clientes concurrentes.
+ * Hilos de plataforma: ./gradlew benchmarkTest --tests '*ThreadModeBenchmarkTest'
+ * Hilos virtuales:     ./gradlew benchmarkTest --tests '*ThreadModeBenchmarkTest' -PjavaVersion=21 -PvirtualThreads=true
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ThreadModeBenchmarkTest {
+
+    private static final int STUDENTS = 2_000;
+    private static final int CONCURRENCY = 1_000;
+    private static final int REQUESTS = 20_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private Environment env;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("delete from students where email like 'bench-thread-%'");
+    }
+
+    @Test
+    void measureSearchUnderHighConcurrency() throws Exception {
+        List<Student> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            Student s = new Student();
+            s.setFullName("Bench Thread " + i);
+            s.setEmail("bench-thread-" + i + "@example.com");
+            s.setActive(true);
+            students.add(s);
+        }
+        repository.saveAll(students);
+
+        HttpClient client = HttpClient.newHttpClient();
+        LatencyHistogram latencies = new LatencyHistogram();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<?>> calls = new ArrayList<>(REQUESTS);
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/api/students/search?name=thread%20" + (i % STUDENTS))).build();
+            inFlight.acquire();
+            long start = System.nanoTime();
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        latencies.record(System.nanoTime() - start);
+                        if (ex != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).handle((r, ex) -> null).join();
+        long elapsed = System.nanoTime() - t0;
+
+        System.out.printf("Hilos virtuales=%s, concurrencia=%d, limitador=%s%n",
+                env.getProperty("spring.threads.virtual.enabled", "false"), CONCURRENCY,
+                env.getProperty("app.db-limiter.enabled", "false"));
+        System.out.printf("%,d peticiones en %d ms (%,.0f req/s), p50=%.1f ms p99=%.1f ms max=%.1f ms, errores=%d%n",
+                REQUESTS, elapsed / 1_000_000, REQUESTS / (elapsed / 1e9),
+                latencies.valueAtPercentile(50.0) / 1e6, latencies.valueAtPercentile(99.0) / 1e6,
+                latencies.getMax() / 1e6, errors.get());
+        assertEquals(0, errors.get());
+    }
+}
@@ -0,0 +1,113 @@
+package edu.espe.springlab.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchLoaderTest {
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+    private final List<List<Long>> calls = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    //Resuelve solo ids pares, como una consulta IN donde faltan filas
+    private Map<Long, String> lookup(List<Long> ids) {
+        calls.add(ids);
+        Map<Long, String> result = new HashMap<>();
+        for (Long id : ids) {
+            if (id % 2 == 0) {
+                result.put(id, "s" + id);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void shouldDispatchAsSoonAsTheBatchIsFull() throws Exception {
+        BatchLoader<Long, String> loader = new BatchLoader<>("test", Duration.ofHours(1), 3, Duration.ofSeconds(5), executor, this::lookup);
+
+        CompletableFuture<String> a = loader.load(2L);
+        CompletableFuture<String> b = loader.load(2L);
+        CompletableFuture<String> c = loader.load(3L);
+        CompletableFuture<String> d = loader.load(4L);
+
+        // Assert - Una sola consulta con las 3 claves distintas; la repetida comparte resultado
+        assertEquals("s2", a.get(5, TimeUnit.SECONDS));
+        assertEquals("s2", b.get(5, TimeUnit.SECONDS));
+        assertNull(c.get(5, TimeUnit.SECONDS));
+        assertEquals("s4", d.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(2L, 3L, 4L)), calls);
+        assertEquals(1, loader.stats().getBatches());
+        assertEquals(3, loader.stats().getMax());
+    }
+
+    @Test
+    void shouldFlushPartialBatchWhenTheWindowCloses() {
+        BatchLoader<Long, String> loader = new BatchLoader<>("test", Duration.ofMillis(5), 100, Duration.ofSeconds(5), executor, this::lookup);
+
+        assertEquals("s6", loader.get(6L));
+        assertNull(loader.get(7L));
+        assertEquals(2, loader.stats().getBatches());
+        assertEquals(2, loader.stats().getKeys());
+    }
+
+    @Test
+    void shouldFailEveryCallerOfAFailedBatch() {
+        BatchLoader<Long, String> loader = new BatchLoader<>("test", Duration.ofMillis(5), 100, Duration.ofSeconds(5), executor, ids -> {
+            throw new IllegalStateException("sin base");
+        });
+
+        assertThrows(IllegalStateException.class, () -> loader.get(1L));
+    }
+
+    @Test
+    void shouldStopWaitingForABatchAfterTheTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        BatchLoader<Long, String> loader = new BatchLoader<>("test", Duration.ofMillis(1), 100, Duration.ofMillis(50),
+                executor, ids -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return lookup(ids);
+                });
+
+        // El lote sigue en curso, pero quien espera se libera con error
+        assertThrows(IllegalStateException.class, () -> loader.get(2L));
+        assertEquals(1, loader.stats().getTimeouts());
+        release.countDown();
+    }
+
+    @Test
+    void shouldFailPendingKeysWhenClosed() {
+        BatchLoader<Long, String> loader = new BatchLoader<>("test", Duration.ofHours(1), 100, Duration.ofSeconds(5),
+                executor, this::lookup);
+
+        CompletableFuture<String> pending = loader.load(2L);
+        loader.close();
+
+        // La clave en espera y las nuevas fallan en el acto; el lote nunca se consulta
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> pending.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertThrows(IllegalStateException.class, () -> loader.get(4L));
+        assertTrue(calls.isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+package edu.espe.springlab.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> flight.execute("k", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+
+            // Espera a que los otros 7 hilos queden esperando la carga del primero
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (flight.stats().getCollapsed() < 7 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, flight.stats().getExecutions());
+            assertEquals(7, flight.stats().getCollapsed());
+            assertEquals(0, flight.stats().getInFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldPropagateErrorsAndNotCacheResults() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", Duration.ofSeconds(5));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> flight.execute("k", () -> { throw new IllegalArgumentException("fallo"); }));
+
+        // La clave quedo libre: la siguiente llamada ejecuta una carga nueva
+        assertEquals(7, flight.execute("k", () -> 7));
+        assertEquals(2, flight.stats().getExecutions());
+    }
+
+    @Test
+    void shouldLoadOnItsOwnWhenTheSharedCallTimesOut() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread leader = new Thread(() -> flight.execute("k", () -> {
+            started.countDown();
+            await(release);
+            return 1;
+        }));
+        leader.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, flight.execute("k", () -> 2));
+        assertEquals(1, flight.stats().getTimeouts());
+
+        release.countDown();
+        leader.join(5000);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
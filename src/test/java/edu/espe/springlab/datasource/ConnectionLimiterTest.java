@@ -0,0 +1,55 @@
+package edu.espe.springlab.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionLimiterTest {
+
+    @Test
+    void shouldTimeOutWhenAllPermitsAreTaken() throws Exception {
+        ConnectionLimiter limiter = new ConnectionLimiter(1, Duration.ofMillis(50));
+        limiter.acquire();
+
+        assertThrows(SQLTransientConnectionException.class, limiter::acquire);
+        assertEquals(1, limiter.stats().getTimeouts());
+        assertEquals(0, limiter.stats().getAvailable());
+
+        limiter.release();
+        limiter.acquire();
+        assertEquals(2, limiter.stats().getAcquired());
+    }
+
+    @Test
+    void shouldQueueWaitersUntilAPermitIsReleased() throws Exception {
+        ConnectionLimiter limiter = new ConnectionLimiter(1, Duration.ofSeconds(5));
+        limiter.acquire();
+
+        CountDownLatch done = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire();
+                done.countDown();
+            } catch (SQLTransientConnectionException ex) {
+                fail(ex);
+            }
+        });
+        waiter.start();
+
+        // Espera a que el segundo hilo quede en la cola del semaforo
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.stats().getWaiting() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, limiter.stats().getWaiting());
+
+        limiter.release();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(limiter.stats().getMaxWaitMs() > 0);
+    }
+}
@@ -0,0 +1,64 @@
+package edu.espe.springlab.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnowflakeIdAllocatorTest {
+
+    @Test
+    void shouldGenerateIncreasingIdsWithNodeBits() {
+        SnowflakeIdAllocator allocator = SnowflakeIdAllocator.forNode(7);
+        long previous = allocator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = allocator.nextId();
+            assertTrue(next > previous, "los ids deben ser crecientes");
+            previous = next;
+        }
+        // Los bits del nodo quedan en la posicion esperada
+        assertEquals(7, (previous >>> SnowflakeIdAllocator.SEQUENCE_BITS) & SnowflakeIdAllocator.MAX_NODE_ID);
+    }
+
+    @Test
+    void shouldKeepIdsWithinJavaScriptSafeIntegers() {
+        // El formato completo (ultimo tick, ultimo nodo y ultima secuencia) cabe en 53 bits
+        assertEquals(53, SnowflakeIdAllocator.TICK_BITS + SnowflakeIdAllocator.NODE_BITS
+                + SnowflakeIdAllocator.SEQUENCE_BITS);
+        SnowflakeIdAllocator allocator = SnowflakeIdAllocator.forNode(SnowflakeIdAllocator.MAX_NODE_ID);
+        for (int i = 0; i < 10_000; i++) {
+            long id = allocator.nextId();
+            assertTrue(id > 0 && id <= SnowflakeIdAllocator.MAX_SAFE_ID, "id fuera del rango seguro: " + id);
+            // Un double lo representa exacto (sin redondeo en JSON de JavaScript)
+            assertEquals(id, (long) (double) id);
+        }
+    }
+
+    @Test
+    void shouldNotRepeatIdsAcrossThreads() throws Exception {
+        SnowflakeIdAllocator allocator = SnowflakeIdAllocator.forNode(8);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(allocator.nextId());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(8 * 50_000, ids.size());
+    }
+
+    @Test
+    void shouldRejectNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdAllocator.forNode(SnowflakeIdAllocator.MAX_NODE_ID + 1));
+        assertSame(SnowflakeIdAllocator.forNode(3), SnowflakeIdAllocator.forNode(3));
+    }
+}
@@ -0,0 +1,36 @@
+package edu.espe.springlab.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    void shouldNeverReturnFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("otro" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        // Con la capacidad prevista la tasa debe rondar el 1%
+        assertTrue(falsePositives / 100_000.0 < 0.02, "tasa observada: " + falsePositives / 100_000.0);
+        assertTrue(filter.estimatedFpp() < 0.02);
+    }
+}
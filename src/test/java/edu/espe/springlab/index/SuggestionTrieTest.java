@@ -0,0 +1,68 @@
+package edu.espe.springlab.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SuggestionTrieTest {
+
+    private static List<Long> ids(List<SuggestionTrie.Entry> entries) {
+        return entries.stream().map(SuggestionTrie.Entry::getId).toList();
+    }
+
+    @Test
+    void shouldSuggestByPrefixOfAnyWordInRankOrder() {
+        SuggestionTrie trie = new SuggestionTrie(10, SuggestionTrie.byName());
+        trie.put(1L, "Ana María");
+        trie.put(2L, "Andrea López");
+        trie.put(3L, "José María");
+        trie.put(4L, "Pedro");
+
+        assertEquals(List.of(1L, 2L), ids(trie.suggest("an", 10)));
+        // "mar" coincide con la segunda palabra de dos nombres
+        assertEquals(List.of(1L, 3L), ids(trie.suggest("MAR", 10)));
+        assertEquals(List.of(1L), ids(trie.suggest("an", 1)));
+        assertTrue(trie.suggest("zz", 10).isEmpty());
+    }
+
+    @Test
+    void shouldKeepOnlyTopKAndRecomputeAfterRemoval() {
+        SuggestionTrie trie = new SuggestionTrie(2, SuggestionTrie.byRecent());
+        trie.put(1L, "Ana");
+        trie.put(2L, "Anabel");
+        trie.put(3L, "Andrea");
+
+        assertEquals(List.of(3L, 2L), ids(trie.suggest("an", 10)));
+
+        trie.remove(3L);
+        assertEquals(List.of(2L, 1L), ids(trie.suggest("an", 10)));
+
+        // Renombrar mueve la entrada a otro prefijo
+        trie.put(2L, "Beatriz");
+        assertEquals(List.of(1L), ids(trie.suggest("an", 10)));
+        assertEquals(List.of(2L), ids(trie.suggest("bea", 10)));
+    }
+
+    @Test
+    void shouldCompressSingleChildChainsAndMergeBackOnRemoval() {
+        SuggestionTrie trie = new SuggestionTrie(10, SuggestionTrie.byName());
+        trie.put(1L, "Ana Maria Lopez");
+        // Una arista por clave: "ana maria lopez", "maria lopez" y "lopez"
+        assertEquals(3, trie.nodeCount());
+
+        trie.put(2L, "Ana Mariela");
+        // Las claves se separan en "mari": nodo intermedio y hoja nueva en dos de los arboles
+        assertEquals(7, trie.nodeCount());
+        // Prefijos que terminan a mitad de una arista
+        assertEquals(List.of(1L, 2L), ids(trie.suggest("ana ma", 10)));
+        assertEquals(List.of(2L), ids(trie.suggest("mariel", 10)));
+        assertTrue(trie.suggest("marix", 10).isEmpty());
+
+        // Al quitarla, los nodos de un solo hijo se fusionan de nuevo
+        trie.remove(2L);
+        assertEquals(3, trie.nodeCount());
+        assertEquals(List.of(1L), ids(trie.suggest("ana ma", 10)));
+    }
+}
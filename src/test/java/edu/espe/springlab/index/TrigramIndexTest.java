@@ -0,0 +1,69 @@
+package edu.espe.springlab.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+
+    @Test
+    void shouldFindSubstringsIgnoringCase() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Ana María");
+        index.put(2L, "ANDREA LÓPEZ");
+        index.put(3L, "José María");
+        index.put(4L, "Pedro Sánchez");
+
+        assertEquals(List.of(1L, 3L), index.search("maría").stream().sorted().toList());
+        assertEquals(List.of(2L), index.search("drea l"));
+        assertTrue(index.search("xyz").isEmpty());
+    }
+
+    @Test
+    void shouldReindexOnUpdateAndForgetOnRemove() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Juan Perez");
+        index.put(1L, "Juana Torres");
+
+        assertTrue(index.search("perez").isEmpty());
+        assertEquals(List.of(1L), index.search("torres"));
+
+        index.remove(1L);
+        assertTrue(index.search("juan").isEmpty());
+        assertEquals(0, index.size());
+        assertEquals(0, index.gramCount());
+    }
+
+    @Test
+    void shouldKeepTheConfirmedTextUntilThePendingOneIsCommitted() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Juan Perez");
+
+        // Antes de confirmar se encuentra por ambos nombres
+        index.add(1L, "Juana Torres");
+        assertEquals(List.of(1L), index.search("perez"));
+        assertEquals(List.of(1L), index.search("torres"));
+
+        // Rollback: vuelve a quedar solo el nombre confirmado
+        index.discard(1L, "Juana Torres");
+        assertEquals(List.of(1L), index.search("perez"));
+        assertTrue(index.search("torres").isEmpty());
+
+        // Commit: el nombre nuevo reemplaza al anterior
+        index.add(1L, "Juana Torres");
+        index.put(1L, "Juana Torres");
+        assertTrue(index.search("perez").isEmpty());
+        assertEquals(List.of(1L), index.search("torres"));
+
+        index.remove(1L);
+        assertEquals(0, index.gramCount());
+    }
+
+    @Test
+    void shouldRejectQueriesShorterThanAGram() {
+        TrigramIndex index = new TrigramIndex();
+        assertThrows(IllegalArgumentException.class, () -> index.search("an"));
+    }
+}
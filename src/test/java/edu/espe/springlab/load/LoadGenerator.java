@@ -0,0 +1,193 @@
+package edu.espe.springlab.load;
+
+import edu.espe.springlab.metrics.LatencyHistogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Generador de carga HTTP. La latencia se mide desde el momento en que la peticion
+ * debia salir segun la tasa buscada y no desde que salio: si el servidor se atrasa,
+ * la espera acumulada cuenta en los percentiles (correccion de coordinated omission).
+ */
+final class LoadGenerator {
+    private final HttpClient client;
+    private final List<String> names = new ArrayList<>();
+    private final List<Supplier<HttpRequest>> requests = new ArrayList<>();
+    private final int[] cumulativeWeights;
+
+    LoadGenerator(HttpClient client, Map<String, Integer> mix, Map<String, Supplier<HttpRequest>> operations) {
+        this.client = client;
+        this.cumulativeWeights = new int[mix.size()];
+        int total = 0;
+        for (Map.Entry<String, Integer> e : mix.entrySet()) {
+            Supplier<HttpRequest> request = operations.get(e.getKey());
+            if (request == null) {
+                throw new IllegalArgumentException("Operacion desconocida en load.mix: " + e.getKey());
+            }
+            total += e.getValue();
+            cumulativeWeights[names.size()] = total;
+            names.add(e.getKey());
+            requests.add(request);
+        }
+    }
+
+    LoadReport run(LoadProfile profile) throws InterruptedException {
+        phase(profile, profile.warmup.toNanos(), new LoadReport(names));
+        LoadReport report = new LoadReport(names);
+        long elapsed = phase(profile, profile.duration.toNanos(), report);
+        report.finish(elapsed);
+        return report;
+    }
+
+    private long phase(LoadProfile profile, long durationNanos, LoadReport report) throws InterruptedException {
+        if (durationNanos <= 0) {
+            return 0;
+        }
+        return profile.mode == LoadProfile.Mode.OPEN
+                ? openLoop(profile, durationNanos, report)
+                : closedLoop(profile, durationNanos, report);
+    }
+
+    //Tasa constante; el limite de peticiones en vuelo no frena el reloj de salidas previstas
+    private long openLoop(LoadProfile profile, long durationNanos, LoadReport report) {
+        long period = 1_000_000_000L / profile.rate;
+        Semaphore inFlight = new Semaphore(profile.concurrency);
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long intended = start + i * period;
+            if (intended - start >= durationNanos) {
+                break;
+            }
+            sleepUntil(intended);
+            inFlight.acquireUninterruptibly();
+            int op = pick();
+            pending.add(client.sendAsync(requests.get(op).get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        report.record(op, System.nanoTime() - intended, ex == null ? response.statusCode() : -1);
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).handle((r, ex) -> null).join();
+        return System.nanoTime() - start;
+    }
+
+    //Clientes que esperan su respuesta antes de enviar la siguiente; con rate > 0 cada uno sigue su propio calendario
+    private long closedLoop(LoadProfile profile, long durationNanos, LoadReport report) throws InterruptedException {
+        long period = profile.rate > 0 ? 1_000_000_000L * profile.concurrency / profile.rate : 0;
+        AtomicLong end = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(profile.concurrency);
+        long start = System.nanoTime();
+        for (int w = 0; w < profile.concurrency; w++) {
+            long offset = period * w / profile.concurrency;
+            workers.execute(() -> {
+                long next = start + offset;
+                while (next - start < durationNanos) {
+                    long intended = period > 0 ? next : System.nanoTime();
+                    sleepUntil(intended);
+                    int op = pick();
+                    int status;
+                    try {
+                        status = client.send(requests.get(op).get(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception ex) {
+                        if (ex instanceof InterruptedException) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        status = -1;
+                    }
+                    long now = System.nanoTime();
+                    report.record(op, now - intended, status);
+                    next = period > 0 ? next + period : now;
+                }
+                end.accumulateAndGet(System.nanoTime(), Math::max);
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(durationNanos + 60_000_000_000L, TimeUnit.NANOSECONDS);
+        return Math.max(end.get(), System.nanoTime()) - start;
+    }
+
+    private int pick() {
+        int r = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    static final class LoadReport {
+        private final List<String> names;
+        private final LatencyHistogram all = new LatencyHistogram();
+        private final Map<String, LatencyHistogram> byOperation = new LinkedHashMap<>();
+        private final AtomicLong errors = new AtomicLong();
+        private long elapsedNanos;
+
+        LoadReport(List<String> names) {
+            this.names = names;
+            for (String name : names) {
+                byOperation.put(name, new LatencyHistogram());
+            }
+        }
+
+        void record(int op, long latencyNanos, int status) {
+            byOperation.get(names.get(op)).record(latencyNanos);
+            all.record(latencyNanos);
+            if (status < 200 || status >= 400) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void finish(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        long errors() {
+            return errors.get();
+        }
+
+        double throughput() {
+            return elapsedNanos == 0 ? 0.0 : all.getCount() / (elapsedNanos / 1e9);
+        }
+
+        //Claves <operacion>.p50Ms, <operacion>.p99Ms, all.throughput, all.errors
+        Map<String, Double> metrics() {
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            metrics.put("all.throughput", throughput());
+            metrics.put("all.errors", (double) errors());
+            metrics.put("all.p50Ms", all.valueAtPercentile(50.0) / 1e6);
+            metrics.put("all.p99Ms", all.valueAtPercentile(99.0) / 1e6);
+            for (Map.Entry<String, LatencyHistogram> e : byOperation.entrySet()) {
+                metrics.put(e.getKey() + ".count", (double) e.getValue().getCount());
+                metrics.put(e.getKey() + ".p50Ms", e.getValue().valueAtPercentile(50.0) / 1e6);
+                metrics.put(e.getKey() + ".p99Ms", e.getValue().valueAtPercentile(99.0) / 1e6);
+                metrics.put(e.getKey() + ".maxMs", e.getValue().getMax() / 1e6);
+            }
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.espe.springlab.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parametros de la prueba de carga, leidos de propiedades del sistema load.*
+ * (en Gradle: ./gradlew loadTest -Pload.rate=800 -Pload.mode=closed ...).
+ */
+final class LoadProfile {
+    enum Mode { OPEN, CLOSED }
+
+    final Mode mode;
+    //Peticiones por segundo buscadas; en modo closed 0 significa "lo mas rapido posible"
+    final int rate;
+    //Open: maximo de peticiones en vuelo. Closed: numero de clientes
+    final int concurrency;
+    final Duration warmup;
+    final Duration duration;
+    final int students;
+    final Map<String, Integer> mix;
+
+    private LoadProfile(Mode mode, int rate, int concurrency, Duration warmup, Duration duration, int students,
+                        Map<String, Integer> mix) {
+        this.mode = mode;
+        this.rate = rate;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.students = students;
+        this.mix = mix;
+    }
+
+    static LoadProfile fromSystemProperties() {
+        Mode mode = Mode.valueOf(System.getProperty("load.mode", "open").toUpperCase());
+        int rate = Integer.parseInt(System.getProperty("load.rate", "500"));
+        if (mode == Mode.OPEN && rate < 1) {
+            throw new IllegalArgumentException("load.rate debe ser > 0 en modo open");
+        }
+        return new LoadProfile(mode, rate,
+                Integer.parseInt(System.getProperty("load.concurrency", "64")),
+                Duration.parse(System.getProperty("load.warmup", "PT5S")),
+                Duration.parse(System.getProperty("load.duration", "PT20S")),
+                Integer.parseInt(System.getProperty("load.students", "5000")),
+                parseMix(System.getProperty("load.mix", "get=50,list=20,search=20,stats=10")));
+    }
+
+    //Formato: get=50,list=20,search=20,stats=10 (pesos relativos)
+    static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] kv = part.trim().split("=");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(kv[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix sin operaciones: " + value);
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "mode=" + mode + ", rate=" + rate + ", concurrency=" + concurrency + ", warmup=" + warmup
+                + ", duration=" + duration + ", students=" + students + ", mix=" + mix;
+    }
+}
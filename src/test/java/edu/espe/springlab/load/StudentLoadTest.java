@@ -0,0 +1,141 @@
+package edu.espe.springlab.load;
+
+import edu.espe.springlab.dto.StudentRequestData;
+import edu.espe.springlab.dto.StudentResponse;
+import edu.espe.springlab.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga HTTP sobre la aplicacion real (H2) con un conjunto de datos sembrado.
+ * Falla si el p99 o el throughput empeoran respecto a src/test/resources/load/baseline.properties.
+ * Se ejecuta con: ./gradlew loadTest (parametros en LoadProfile)
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+public class StudentLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("delete from students where email like 'load-%'");
+    }
+
+    @Test
+    void shouldStayWithinLatencyAndThroughputBaselines() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        long[] ids = seed(profile.students);
+
+        String base = "http://localhost:" + port + "/api/students";
+        Map<String, Supplier<HttpRequest>> operations = new LinkedHashMap<>();
+        operations.put("get", () -> get(base + "/" + ids[ThreadLocalRandom.current().nextInt(ids.length)]));
+        operations.put("list", () -> get(base + "?limit=50"));
+        operations.put("search", () -> get(base + "/search?name=load%20" + ThreadLocalRandom.current().nextInt(1000)));
+        operations.put("stats", () -> get(base + "/stats"));
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        LoadGenerator.LoadReport report = new LoadGenerator(client, profile.mix, operations).run(profile);
+
+        Map<String, Double> metrics = report.metrics();
+        System.out.println("Perfil: " + profile);
+        metrics.forEach((k, v) -> System.out.printf(Locale.ROOT, "%-18s %12.2f%n", k, v));
+        writeResults(metrics);
+
+        List<String> regressions = compareWithBaseline(metrics);
+        assertTrue(regressions.isEmpty(), "Regresiones contra la linea base:\n" + String.join("\n", regressions));
+    }
+
+    private long[] seed(int count) {
+        for (int from = 0; from < count; from += 10_000) {
+            List<StudentRequestData> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + 10_000); i++) {
+                StudentRequestData r = new StudentRequestData();
+                r.setFullName("Load Student " + i);
+                r.setEmail("load-" + i + "@example.com");
+                r.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(i % 7000));
+                chunk.add(r);
+            }
+            studentService.createBatch(chunk);
+        }
+        return studentService.findByPartialName("load student").stream()
+                .mapToLong(StudentResponse::getId)
+                .toArray();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static void writeResults(Map<String, Double> metrics) throws IOException {
+        Path file = Path.of(System.getProperty("load.resultsFile", "build/load/results.properties"));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Properties props = new Properties();
+        metrics.forEach((k, v) -> props.setProperty(k, String.format(Locale.ROOT, "%.2f", v)));
+        try (Writer out = Files.newBufferedWriter(file)) {
+            props.store(out, "Resultado de StudentLoadTest");
+        }
+    }
+
+    private static List<String> compareWithBaseline(Map<String, Double> metrics) throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = StudentLoadTest.class.getResourceAsStream("/load/baseline.properties")) {
+            if (in != null) {
+                baseline.load(in);
+            }
+        }
+        double tolerance = Double.parseDouble(
+                System.getProperty("load.tolerance", baseline.getProperty("tolerance", "0.25")));
+
+        List<String> regressions = new ArrayList<>();
+        if (metrics.get("all.errors") > 0) {
+            regressions.add("errores HTTP: " + metrics.get("all.errors").longValue());
+        }
+        for (String key : baseline.stringPropertyNames()) {
+            Double actual = metrics.get(key);
+            if (actual == null || key.equals("tolerance")) {
+                continue;
+            }
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            if (key.endsWith(".throughput") && actual < expected * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s = %.1f req/s, linea base %.1f", key, actual, expected));
+            } else if (key.endsWith("Ms") && actual > expected * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s = %.1f ms, linea base %.1f", key, actual, expected));
+            }
+        }
+        return regressions;
+    }
+}
@@ -0,0 +1,35 @@
+package edu.espe.springlab.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void shouldReportPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 1..10000 microsegundos, distribucion uniforme
+        for (long us = 1; us <= 10_000; us++) {
+            histogram.record(us * 1_000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(5_000_000, histogram.valueAtPercentile(50), 5_000_000 * 0.02);
+        assertEquals(9_900_000, histogram.valueAtPercentile(99), 9_900_000 * 0.02);
+        assertEquals(10_000_000, histogram.getMax());
+        assertTrue(histogram.valueAtPercentile(100) <= histogram.getMax());
+    }
+
+    @Test
+    void shouldMapEveryValueToABucketThatContainsIt() {
+        long[] values = {0, 1, 127, 128, 129, 255, 256, 1_000_000, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value, "valor " + value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value, "valor " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package edu.espe.springlab.service;
+
+import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.dto.BulkDeactivationJobResponse;
+import edu.espe.springlab.dto.BulkDeactivationRequest;
+import edu.espe.springlab.dto.DemographicBucket;
+import edu.espe.springlab.dto.StudentDemographicsResponse;
+import edu.espe.springlab.repository.StudentRepository;
+import edu.espe.springlab.stats.StudentDemographics;
+import edu.espe.springlab.service.impl.BulkDeactivationServiceImpl;
+import edu.espe.springlab.web.advice.BadRequestException;
+import edu.espe.springlab.web.advice.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * El trabajo corre en otro hilo, por eso los datos se confirman (sin @Transactional)
+ * y se borran al terminar.
+ */
+@SpringBootTest(properties = "app.deactivation.chunk-size=2")
+public class BulkDeactivationServiceTest {
+
+    @Autowired
+    private BulkDeactivationService bulkService;
+
+    @Autowired
+    private StudentRepository repository;
+
+    @Autowired
+    private StudentDemographics demographics;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("delete from students where email like 'bulk-%'");
+    }
+
+    @Test
+    void shouldDeactivateByBirthDateRangeInChunks() throws Exception {
+        List<Long> ids = saveStudents(5, LocalDate.of(1901, 3, 1));
+        Long outside = saveStudents(1, LocalDate.of(1905, 1, 1)).get(0);
+
+        BulkDeactivationRequest request = new BulkDeactivationRequest();
+        request.setBirthDateFrom(LocalDate.of(1901, 1, 1));
+        request.setBirthDateTo(LocalDate.of(1901, 12, 31));
+        BulkDeactivationJobResponse job = awaitFinished(bulkService.submit(request).getJobId());
+
+        assertEquals(BulkDeactivationJobResponse.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getTotal());
+        assertEquals(5, job.getDeactivated());
+        for (Long id : ids) {
+            assertEquals(false, repository.findById(id).orElseThrow().getActive());
+        }
+        assertEquals(true, repository.findById(outside).orElseThrow().getActive());
+    }
+
+    @Test
+    void shouldUpdateDemographicsIncrementallyOnBulkDeactivation() throws Exception {
+        demographics.rebuild();
+        saveStudents(3, LocalDate.of(1903, 6, 1));
+        DemographicBucket before = year(demographics.snapshot(), "1903");
+
+        BulkDeactivationRequest request = new BulkDeactivationRequest();
+        request.setBirthDateFrom(LocalDate.of(1903, 1, 1));
+        request.setBirthDateTo(LocalDate.of(1903, 12, 31));
+        awaitFinished(bulkService.submit(request).getJobId());
+
+        // Assert - Los eventos traen la fecha: se ajusta sin dejar un recuento pendiente
+        assertFalse(demographics.isDirty());
+        DemographicBucket after = year(demographics.snapshot(), "1903");
+        assertEquals(before.getActivos() - 3, after.getActivos());
+        assertEquals(before.getInactivos() + 3, after.getInactivos());
+    }
+
+    @Test
+    void shouldDeactivateByIdsAndSkipAlreadyInactive() throws Exception {
+        List<Long> ids = saveStudents(3, LocalDate.of(1902, 1, 1));
+        Student inactive = repository.findById(ids.get(0)).orElseThrow();
+        inactive.setActive(false);
+        repository.save(inactive);
+
+        BulkDeactivationRequest request = new BulkDeactivationRequest();
+        request.setIds(List.of(ids.get(0), ids.get(1), ids.get(2), 999L));
+        BulkDeactivationJobResponse job = awaitFinished(bulkService.submit(request).getJobId());
+
+        assertEquals(BulkDeactivationJobResponse.Status.COMPLETED, job.getStatus());
+        assertEquals(4, job.getProcessed());
+        assertEquals(2, job.getDeactivated());
+    }
+
+    @Test
+    void shouldRejectAmbiguousRequests() {
+        BulkDeactivationRequest both = new BulkDeactivationRequest();
+        both.setIds(List.of(1L));
+        both.setBirthDateFrom(LocalDate.of(2000, 1, 1));
+        both.setBirthDateTo(LocalDate.of(2000, 12, 31));
+
+        assertThrows(BadRequestException.class, () -> bulkService.submit(new BulkDeactivationRequest()));
+        assertThrows(BadRequestException.class, () -> bulkService.submit(both));
+    }
+
+    private List<Long> saveStudents(int count, LocalDate birthDate) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Student s = new Student();
+            s.setFullName("Bulk Student " + i);
+            s.setEmail("bulk-" + birthDate.getYear() + "-" + i + "@example.com");
+            s.setBirthDate(birthDate);
+            s.setActive(true);
+            ids.add(repository.save(s).getId());
+        }
+        return ids;
+    }
+
+    private static DemographicBucket year(StudentDemographicsResponse response, String year) {
+        return response.getBirthYears().stream().filter(b -> b.getLabel().equals(year)).findFirst()
+                .orElse(new DemographicBucket(year, 0, 0));
+    }
+
+    @Test
+    void shouldRejectSubmissionsOverThePendingLimit() throws Exception {
+        CountDownLatch locking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Repositorio falso: el primer trabajo queda bloqueado en su lote hasta liberar el latch
+        StudentRepository blocked = (StudentRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{StudentRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("lockActiveIds")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    locking.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                });
+        PlatformTransactionManager noTx = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+        BulkDeactivationServiceImpl service = new BulkDeactivationServiceImpl(blocked, event -> { }, noTx, 2, 1);
+        try {
+            BulkDeactivationRequest request = new BulkDeactivationRequest();
+            request.setIds(List.of(1L, 2L));
+            BulkDeactivationJobResponse first = service.submit(request);
+            assertTrue(locking.await(5, TimeUnit.SECONDS));
+
+            // Con un trabajo pendiente y limite 1, el siguiente se rechaza (429) en vez de encolarse
+            assertThrows(TooManyRequestsException.class, () -> service.submit(request));
+
+            release.countDown();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (service.getStatus(first.getJobId()).getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            // Al terminar el primero se vuelve a aceptar
+            assertEquals(BulkDeactivationJobResponse.Status.COMPLETED, service.getStatus(first.getJobId()).getStatus());
+            assertNotNull(service.submit(request).getJobId());
+        } finally {
+            release.countDown();
+            service.destroy();
+        }
+    }
+
+    private BulkDeactivationJobResponse awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        BulkDeactivationJobResponse job = bulkService.getStatus(jobId);
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = bulkService.getStatus(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,133 @@
+package edu.espe.springlab.service;
+
+import edu.espe.springlab.dto.StudentImportJobResponse;
+import edu.espe.springlab.repository.StudentRepository;
+import edu.espe.springlab.web.advice.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * La importacion corre en segundo plano: cada prueba espera a que el trabajo termine.
+ * Cada bloque se confirma en su propia transaccion, por eso los datos se borran al terminar.
+ * Con bloques de 2 filas los repetidos entre bloques los detecta la consulta IN.
+ */
+@SpringBootTest(properties = "app.imports.chunk-size=2")
+public class StudentImportServiceTest {
+
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private StudentRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("delete from students where email like 'import-%'");
+    }
+
+    @Test
+    void shouldImportCsvAndWriteRejects() throws Exception {
+        String csv = "email,birthDate,fullName\n"
+                + "import-1@example.com,2001-04-09,\"Lopez, Maria\"\n"
+                + "no-es-email,,Sin Email\n"
+                + "import-2@example.com,09/04/2001,Fecha Mala\n"
+                + "\n"
+                + "import-3@example.com,,\"Nombre con \"\"comillas\"\"\"\n"
+                + "import-1@example.com,,Repetido\n";
+
+        StudentImportJobResponse job = awaitFinished(importService.importStudents(ExportFormat.CSV, stream(csv)));
+
+        // Assert - 2 importados; email invalido, fecha invalida y repetido (en otro bloque) rechazados
+        assertEquals(StudentImportJobResponse.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessed());
+        assertEquals(2, job.getImported());
+        assertEquals(3, job.getRejected());
+        assertEquals(LocalDate.of(2001, 4, 9), repository.findByEmail("import-1@example.com").orElseThrow().getBirthDate());
+        assertEquals("Lopez, Maria", repository.findByEmail("import-1@example.com").orElseThrow().getFullName());
+        assertEquals("Nombre con \"comillas\"", repository.findByEmail("import-3@example.com").orElseThrow().getFullName());
+
+        ByteArrayOutputStream rejects = new ByteArrayOutputStream();
+        importService.writeRejects(job.getJobId(), rejects);
+        String[] lines = rejects.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("line,reason,record", lines[0]);
+        assertTrue(lines[1].startsWith("3,email: "));
+        assertTrue(lines[2].startsWith("4,birthDate invalida"));
+        assertEquals("7,Email repetido en el archivo,\"import-1@example.com,,Repetido\"", lines[3]);
+    }
+
+    @Test
+    void shouldImportNdjsonAndRejectMalformedLines() throws Exception {
+        String ndjson = "{\"fullName\":\"Import Json\",\"email\":\"import-json@example.com\",\"id\":99,\"active\":false}\n"
+                + "{\"fullName\": \n"
+                + "null\n"
+                + "[1, 2]\n";
+
+        StudentImportJobResponse job = awaitFinished(importService.importStudents(ExportFormat.NDJSON, stream(ndjson)));
+
+        // JSON valido que no es un objeto se rechaza como cualquier linea mal formada
+        assertEquals(1, job.getImported());
+        assertEquals(3, job.getRejected());
+        assertTrue(repository.findByEmail("import-json@example.com").orElseThrow().getActive());
+        assertEquals(job.getJobId(), importService.list().get(0).getJobId());
+    }
+
+    @Test
+    void shouldFailOnAnNdjsonLineLongerThanOneRecord() throws Exception {
+        // Una linea sin salto no se lee entera en memoria; el bloque anterior ya quedo confirmado
+        String ndjson = "{\"fullName\":\"Import Uno\",\"email\":\"import-uno@example.com\"}\n"
+                + "{\"fullName\":\"Import Dos\",\"email\":\"import-dos@example.com\"}\n"
+                + "{\"fullName\":\"" + "x".repeat(64 * 1024) + "\"}";
+
+        StudentImportJobResponse job = awaitFinished(importService.importStudents(ExportFormat.NDJSON, stream(ndjson)));
+
+        assertEquals(StudentImportJobResponse.Status.FAILED, job.getStatus());
+        assertEquals(2, job.getImported());
+        assertTrue(job.getError().contains("2 filas ya importadas y confirmadas"));
+        assertTrue(repository.findByEmail("import-dos@example.com").isPresent());
+    }
+
+    @Test
+    void shouldReturnBeforeTheImportFinishes() throws Exception {
+        StudentImportJobResponse job = importService.importStudents(ExportFormat.CSV,
+                stream("email,birthDate,fullName\nimport-async@example.com,,Import Async\n"));
+
+        // La respuesta llega con el id antes de procesar; el avance se consulta despues
+        assertEquals(StudentImportJobResponse.Status.QUEUED, job.getStatus());
+        assertNull(job.getFinishedAt());
+        assertEquals(StudentImportJobResponse.Status.COMPLETED, awaitFinished(job).getStatus());
+        assertTrue(repository.findByEmail("import-async@example.com").isPresent());
+    }
+
+    @Test
+    void shouldFailWhenCsvHeaderIsMissingColumns() {
+        assertThrows(BadRequestException.class,
+                () -> importService.importStudents(ExportFormat.CSV, stream("nombre,correo\nAna,ana@example.com\n")));
+    }
+
+    private StudentImportJobResponse awaitFinished(StudentImportJobResponse started) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        StudentImportJobResponse job = importService.getStatus(started.getJobId());
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = importService.getStatus(started.getJobId());
+        }
+        return job;
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
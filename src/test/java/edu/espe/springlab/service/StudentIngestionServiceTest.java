@@ -0,0 +1,86 @@
+package edu.espe.springlab.service;
+
+import edu.espe.springlab.dto.IngestionStatusResponse;
+import edu.espe.springlab.dto.IngestionStatusResponse.Status;
+import edu.espe.springlab.dto.StudentRequestData;
+import edu.espe.springlab.repository.StudentRepository;
+import edu.espe.springlab.service.impl.StudentIngestionServiceImpl;
+import edu.espe.springlab.web.advice.NotFoundException;
+import edu.espe.springlab.web.advice.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * El vaciado corre en otro hilo, por eso los datos se confirman (sin @Transactional)
+ * y se borran al terminar.
+ */
+@SpringBootTest
+public class StudentIngestionServiceTest {
+
+    @Autowired
+    private StudentIngestionService ingestionService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("delete from students where email like 'ingest-%'");
+    }
+
+    @Test
+    void shouldCreateQueuedStudentsAndReportEachOutcome() throws Exception {
+        IngestionStatusResponse first = ingestionService.submit(request("ingest-1@example.com"));
+        IngestionStatusResponse duplicate = ingestionService.submit(request("ingest-1@example.com"));
+        assertEquals(Status.QUEUED, first.getStatus());
+
+        IngestionStatusResponse created = awaitCompleted(first.getTrackingId());
+        IngestionStatusResponse conflict = awaitCompleted(duplicate.getTrackingId());
+
+        assertEquals(Status.CREATED, created.getStatus());
+        assertEquals("ingest-1@example.com", repository.findById(created.getStudentId()).orElseThrow().getEmail());
+        assertEquals(Status.CONFLICT, conflict.getStatus());
+        assertThrows(NotFoundException.class, () -> ingestionService.getStatus("no-existe"));
+    }
+
+    @Test
+    void shouldRejectWithTooManyRequestsWhenTheQueueIsFull() throws Exception {
+        // Cola de 1 sin hilo de vaciado: la segunda alta no entra
+        StudentIngestionServiceImpl small = new StudentIngestionServiceImpl(studentService, 1, 10, Duration.ofMinutes(1));
+        small.submit(request("ingest-full-1@example.com"));
+
+        assertThrows(TooManyRequestsException.class, () -> small.submit(request("ingest-full-2@example.com")));
+        assertEquals(1, small.stats().getRejected());
+        assertEquals(1, small.stats().getQueued());
+    }
+
+    private static StudentRequestData request(String email) {
+        StudentRequestData request = new StudentRequestData();
+        request.setFullName("Ingest Student");
+        request.setEmail(email);
+        return request;
+    }
+
+    private IngestionStatusResponse awaitCompleted(String trackingId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        IngestionStatusResponse status = ingestionService.getStatus(trackingId);
+        while (status.getStatus() == Status.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = ingestionService.getStatus(trackingId);
+        }
+        return status;
+    }
+}
@@ -1,20 +1,45 @@
 package edu.espe.springlab.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.espe.springlab.cache.StudentCache;
 import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.dto.DemographicBucket;
+import edu.espe.springlab.dto.StudentBatchItemResult;
+import edu.espe.springlab.dto.StudentBatchResponse;
+import edu.espe.springlab.dto.StudentDemographicsResponse;
+import edu.espe.springlab.dto.StudentPageResponse;
 import edu.espe.springlab.dto.StudentRequestData;
 import edu.espe.springlab.dto.StudentResponse;
 import edu.espe.springlab.dto.StudentStatsResponse;
 import edu.espe.springlab.repository.StudentRepository;
+import edu.espe.springlab.service.ExportFormat;
 import edu.espe.springlab.service.impl.StudentServiceImpl;
+import edu.espe.springlab.stats.StudentDemographics;
+import edu.espe.springlab.stats.StudentStatsCounter;
+import edu.espe.springlab.web.advice.BadRequestException;
 import edu.espe.springlab.web.advice.ConflictException;
+import edu.espe.springlab.web.advice.NotFoundException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 public class StudentServiceTest {
@@ -25,6 +50,24 @@ public class StudentServiceTest {
     @Autowired
     private StudentRepository repository;
 
+    @Autowired
+    private StudentStatsCounter statsCounter;
+
+    @Autowired
+    private StudentCache studentCache;
+
+    @Autowired
+    private StudentDemographics demographics;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     void shouldThrowConflictWhenEmailExists() {
         // Crear un estudiante existente
@@ -138,6 +181,7 @@ public class StudentServiceTest {
         repository.save(active1);
         repository.save(active2);
         repository.save(inactive);
+        statsCounter.reconcile();
 
         // Act - Llamar al servicio getStats()
         StudentStatsResponse stats = service.getStats();
@@ -147,4 +191,265 @@ public class StudentServiceTest {
         assertEquals(2, stats.getActivos());
         assertEquals(1, stats.getInactivos());
     }
+
+    @Test
+    @Transactional
+    void shouldPageStudentsByCursor() {
+        // Arrange - Crear 5 estudiantes consecutivos
+        List<Long> ids = new java.util.ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Student s = new Student();
+            s.setFullName("Page Student " + i);
+            s.setEmail("page" + i + "@example.com");
+            s.setActive(true);
+            ids.add(repository.save(s).getId());
+        }
+
+        // Act - Recorrer desde justo antes del primero con limit = 2
+        String cursor = StudentServiceImpl.encodeCursor(ids.get(0) - 1);
+        StudentPageResponse first = service.list(cursor, 2);
+        StudentPageResponse second = service.list(first.getNextCursor(), 2);
+        StudentPageResponse third = service.list(second.getNextCursor(), 2);
+
+        // Assert - Cada pagina continua donde termino la anterior
+        assertEquals(ids.subList(0, 2), first.getItems().stream().map(StudentResponse::getId).toList());
+        assertEquals(ids.subList(2, 4), second.getItems().stream().map(StudentResponse::getId).toList());
+        assertEquals(ids.subList(4, 5), third.getItems().stream().map(StudentResponse::getId).toList());
+        assertNotNull(first.getNextCursor());
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectInvalidPageRequests() {
+        assertThrows(BadRequestException.class, () -> service.list(null, 0));
+        assertThrows(BadRequestException.class, () -> service.list("no-es-un-cursor", 10));
+    }
+
+    @Test
+    @Transactional
+    void shouldExportStudentsAsNdjsonAndCsv() throws Exception {
+        // Arrange - Un estudiante con coma en el nombre para probar el escape CSV
+        Student student = new Student();
+        student.setFullName("Lopez, Maria");
+        student.setEmail("export@example.com");
+        student.setBirthDate(java.time.LocalDate.of(2001, 4, 9));
+        student.setActive(true);
+        repository.save(student);
+
+        // Act
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long rows = service.export(ExportFormat.NDJSON, ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        service.export(ExportFormat.CSV, csv);
+
+        // Assert - Una linea JSON por estudiante y CSV con cabecera
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(rows, lines.length);
+        assertTrue(ndjson.toString(StandardCharsets.UTF_8).contains("\"email\":\"export@example.com\""));
+        String csvText = csv.toString(StandardCharsets.UTF_8);
+        assertTrue(csvText.startsWith("id,fullName,email,birthDate,active\n"));
+        assertTrue(csvText.contains(",\"Lopez, Maria\",export@example.com,2001-04-09,true\n"));
+    }
+
+    @Test
+    @Transactional
+    void shouldCreateBatchWithPerItemResults() {
+        // Arrange - Un email ya registrado
+        Student existing = new Student();
+        existing.setFullName("Batch Existing");
+        existing.setEmail("batch.existing@example.com");
+        existing.setActive(true);
+        repository.save(existing);
+
+        StudentRequestData ok = new StudentRequestData();
+        ok.setFullName("Batch Nuevo");
+        ok.setEmail("batch.nuevo@example.com");
+        StudentRequestData invalid = new StudentRequestData();
+        invalid.setFullName("");
+        invalid.setEmail("no-es-email");
+        StudentRequestData conflict = new StudentRequestData();
+        conflict.setFullName("Batch Repetido");
+        conflict.setEmail("batch.existing@example.com");
+        StudentRequestData repeated = new StudentRequestData();
+        repeated.setFullName("Batch Nuevo Otra Vez");
+        repeated.setEmail("BATCH.NUEVO@example.com");
+
+        // Act
+        StudentBatchResponse result = service.createBatch(List.of(ok, invalid, conflict, repeated));
+
+        // Assert - Un resultado por elemento, en el mismo orden
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getConflicts());
+        assertEquals(1, result.getInvalid());
+        assertEquals(StudentBatchItemResult.Status.CREATED, result.getItems().get(0).getStatus());
+        assertEquals(StudentBatchItemResult.Status.INVALID, result.getItems().get(1).getStatus());
+        assertEquals(StudentBatchItemResult.Status.CONFLICT, result.getItems().get(2).getStatus());
+        assertEquals(StudentBatchItemResult.Status.CONFLICT, result.getItems().get(3).getStatus());
+        Long newId = result.getItems().get(0).getId();
+        assertNotNull(newId);
+        assertEquals("Batch Nuevo", repository.findById(newId).orElseThrow().getFullName());
+    }
+
+    @Test
+    void shouldKeepStatsCountersUpToDateWithoutQueries() {
+        StudentStatsResponse before = service.getStats();
+
+        // Act - Crear y desactivar por el servicio (transacciones confirmadas)
+        StudentRequestData req = new StudentRequestData();
+        req.setFullName("Counter Student");
+        req.setEmail("counter.student@example.com");
+        StudentResponse created = service.create(req);
+        StudentStatsResponse afterCreate = service.getStats();
+        service.deactivate(created.getId());
+        StudentStatsResponse afterDeactivate = service.getStats();
+
+        // Assert - Los contadores cambian al instante y la reconciliacion no encuentra deriva
+        assertEquals(before.getTotal() + 1, afterCreate.getTotal());
+        assertEquals(before.getActivos() + 1, afterCreate.getActivos());
+        assertEquals(before.getActivos(), afterDeactivate.getActivos());
+        assertEquals(before.getInactivos() + 1, afterDeactivate.getInactivos());
+        assertEquals(0, statsCounter.reconcile().getTotalDrift());
+    }
+
+    @Test
+    void shouldServeGetByIdFromCacheAndInvalidateOnDeactivate() {
+        Student student = new Student();
+        student.setFullName("Cached Student");
+        student.setEmail("cached.student@example.com");
+        student.setActive(true);
+        Long id = repository.save(student).getId();
+
+        // Act - Dos lecturas seguidas: la segunda sale de memoria
+        long hitsBefore = studentCache.stats().getHits();
+        service.getById(id);
+        service.getById(id);
+        assertEquals(hitsBefore + 1, studentCache.stats().getHits());
+
+        // Desactivar invalida la entrada y la siguiente lectura ve el cambio
+        service.deactivate(id);
+        assertEquals(false, service.getById(id).getActive());
+    }
+
+    @Test
+    void shouldNotCacheReadsMadeInsideATransaction() {
+        // Act - Se lee un alta no confirmada dentro de una transaccion que luego se revierte
+        Long id = new TransactionTemplate(transactionManager).execute(status -> {
+            Student student = new Student();
+            student.setFullName("Phantom Student");
+            student.setEmail("phantom.student@example.com");
+            student.setActive(true);
+            Long saved = repository.save(student).getId();
+            assertEquals("phantom.student@example.com", service.getById(saved).getEmail());
+            status.setRollbackOnly();
+            return saved;
+        });
+
+        // Assert - El rollback no deja un estudiante fantasma en la cache
+        assertNull(studentCache.peek(id));
+        assertThrows(NotFoundException.class, () -> service.getById(id));
+    }
+
+    @Test
+    @Transactional
+    void shouldReadThroughProjectionsWithoutManagedEntities() {
+        Long firstId = null;
+        for (int i = 0; i < 3; i++) {
+            Student s = new Student();
+            s.setFullName("Projected Student " + i);
+            s.setEmail("projected" + i + "@example.com");
+            s.setActive(true);
+            Long id = repository.save(s).getId();
+            firstId = firstId == null ? id : firstId;
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act - Lecturas de listado y busqueda
+        StudentPageResponse page = service.list(StudentServiceImpl.encodeCursor(firstId - 1), 10);
+        List<StudentResponse> found = service.findByPartialName("projected student");
+
+        // Assert - Devuelven los datos sin cargar entidades en el contexto de persistencia
+        assertEquals(3, found.size());
+        assertEquals("projected0@example.com", page.getItems().get(0).getEmail());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void shouldRememberMissingIdsUntilCreated() {
+        Long id = -4242L;
+
+        // Act - Dos lecturas de un id inexistente: la segunda no llega a la base
+        assertThrows(NotFoundException.class, () -> service.getById(id));
+        long hitsBefore = studentCache.missingStats().getHits();
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> service.getById(id));
+
+        // Assert - Respondio la cache negativa y la excepcion no captura stack trace
+        assertEquals(hitsBefore + 1, studentCache.missingStats().getHits());
+        assertEquals(0, ex.getStackTrace().length);
+
+        // Un alta con ese id lo quita de la cache negativa
+        studentCache.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.CREATED, id,
+                "Missing Student", "missing@example.com", null, true));
+        assertFalse(studentCache.isKnownMissing(id));
+    }
+
+    @Test
+    @Transactional
+    void shouldWriteStudentsByIdsInRequestOrderWithMissingIds() throws Exception {
+        Long[] ids = new Long[2];
+        for (int i = 0; i < 2; i++) {
+            Student s = new Student();
+            s.setFullName("Multi Student " + i);
+            s.setEmail("multi" + i + "@example.com");
+            s.setActive(true);
+            ids[i] = repository.save(s).getId();
+        }
+
+        // Act - Orden inverso, un id repetido y uno inexistente
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long found = service.writeByIds(List.of(ids[1], -5L, ids[0], ids[1]), out);
+
+        // Assert - Respeta el orden pedido, sin repetidos, y reporta el faltante aparte
+        JsonNode body = objectMapper.readTree(out.toByteArray());
+        assertEquals(2, found);
+        assertEquals(2, body.get("items").size());
+        assertEquals(ids[1].longValue(), body.get("items").get(0).get("id").asLong());
+        assertEquals(ids[0].longValue(), body.get("items").get(1).get("id").asLong());
+        assertEquals(1, body.get("missing").size());
+        assertEquals(-5L, body.get("missing").get(0).asLong());
+    }
+
+    @Test
+    void shouldKeepDemographicsUpToDateIncrementally() {
+        demographics.rebuild();
+        StudentDemographicsResponse before = service.getDemographics();
+
+        // Act - Alta y desactivacion confirmadas de alguien nacido en 1901 (rango 65+)
+        StudentRequestData req = new StudentRequestData();
+        req.setFullName("Demographic Student");
+        req.setEmail("demographic.student@example.com");
+        req.setBirthDate(java.time.LocalDate.of(1901, 5, 5));
+        StudentResponse created = service.create(req);
+        StudentDemographicsResponse afterCreate = service.getDemographics();
+        service.deactivate(created.getId());
+        StudentDemographicsResponse afterDeactivate = service.getDemographics();
+
+        // Assert - Los histogramas se ajustan sin recalcular y coinciden con un recuento completo
+        assertEquals(before.getTotal() + 1, afterCreate.getTotal());
+        assertEquals(bucket(before.getAgeBuckets(), "65+").getActivos() + 1,
+                bucket(afterCreate.getAgeBuckets(), "65+").getActivos());
+        assertEquals(1, bucket(afterCreate.getBirthYears(), "1901").getActivos());
+        assertEquals(0, bucket(afterDeactivate.getBirthYears(), "1901").getActivos());
+        assertEquals(1, bucket(afterDeactivate.getBirthYears(), "1901").getInactivos());
+        demographics.rebuild();
+        StudentDemographicsResponse rebuilt = service.getDemographics();
+        assertEquals(afterDeactivate.getTotal(), rebuilt.getTotal());
+        assertEquals(bucket(afterDeactivate.getAgeBuckets(), "65+").getInactivos(),
+                bucket(rebuilt.getAgeBuckets(), "65+").getInactivos());
+    }
+
+    private static DemographicBucket bucket(List<DemographicBucket> buckets, String label) {
+        return buckets.stream().filter(b -> b.getLabel().equals(label)).findFirst()
+                .orElse(new DemographicBucket(label, 0, 0));
+    }
 }
@@ -0,0 +1,43 @@
+package edu.espe.springlab.stats;
+
+import edu.espe.springlab.domain.event.StudentChangedEvent;
+import edu.espe.springlab.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StudentStatsCounterTest {
+
+    @Test
+    void shouldNotCountTwiceAChangeThatArrivesDuringReconcile() {
+        AtomicReference<StudentStatsCounter> counter = new AtomicReference<>();
+        AtomicInteger queries = new AtomicInteger();
+        // Repositorio falso: durante la primera consulta se confirma un alta que la consulta ya ve
+        StudentRepository repo = (StudentRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{StudentRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("countGroupedByActive")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (queries.incrementAndGet() == 1) {
+                        counter.get().onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.CREATED,
+                                1L, "Racing Student", "racing@example.com", null, true));
+                    }
+                    return List.<Object[]>of(new Object[]{true, 1L});
+                });
+        counter.set(new StudentStatsCounter(repo));
+
+        // Act
+        counter.get().reconcile();
+
+        // Assert - Se repitio la consulta y el alta se cuenta una sola vez
+        assertEquals(2, queries.get());
+        assertEquals(1, counter.get().snapshot().getTotal());
+        assertEquals(1, counter.get().snapshot().getActivos());
+        assertEquals(0, counter.get().snapshot().getInactivos());
+    }
+}
@@ -63,4 +63,15 @@ public class InterceptorElapsedTimeTest {
                 .andExpect(header().exists("X-Elapsed-Time"))
                 .andExpect(header().string("X-Elapsed-Time", not(emptyString())));
     }
+
+    @Test
+    void shouldRecordLatencyByRoutePattern() throws Exception {
+        // La latencia se agrupa por patron de ruta y clase de estado
+        mockMvc.perform(get("/api/students/stats"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/metrics/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].route", hasItem("GET /api/students/stats 2xx")));
+    }
 }
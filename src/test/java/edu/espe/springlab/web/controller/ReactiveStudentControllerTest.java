@@ -0,0 +1,136 @@
+package edu.espe.springlab.web.controller;
+
+import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.repository.ReactiveStudentRepository;
+import edu.espe.springlab.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * R2DBC usa otras conexiones, por eso los datos se confirman (sin @Transactional)
+ * y se borran al terminar cada prueba.
+ */
+@SpringBootTest
+public class ReactiveStudentControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private StudentRepository repository;
+
+    @Autowired
+    private ReactiveStudentRepository reactiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final List<Student> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        for (int i = 0; i < 5; i++) {
+            Student s = new Student();
+            s.setFullName("Reactive Student " + i);
+            s.setEmail("reactive-" + i + "@example.com");
+            s.setBirthDate(LocalDate.of(2000, 1, 1 + i));
+            s.setActive(true);
+            saved.add(repository.save(s));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("delete from students where email like 'reactive-%'");
+    }
+
+    @Test
+    void shouldGetStudentById() throws Exception {
+        Student first = saved.get(0);
+        MvcResult result = mockMvc.perform(get("/api/reactive/students/" + first.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(first.getId())))
+                .andExpect(jsonPath("$.email", is("reactive-0@example.com")));
+    }
+
+    @Test
+    void shouldReturn404WhenStudentDoesNotExist() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/students/999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldListAfterCursorAsJsonArray() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/students")
+                        .param("after", String.valueOf(saved.get(1).getId() - 1))
+                        .param("limit", "3")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].id", is(saved.get(1).getId())));
+    }
+
+    @Test
+    void shouldRejectInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/reactive/students").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamSearchResultsAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/students/search")
+                        .param("name", "reactive student")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        String body = result.getResponse().getContentAsString();
+        assertEquals(5, body.lines().filter(l -> !l.isBlank()).count());
+    }
+
+    @Test
+    void shouldEmitRowsOnDemand() {
+        // Solo se emiten las filas pedidas por el suscriptor
+        StepVerifier.create(reactiveRepository.findAfter(saved.get(0).getId() - 1, 5), 2)
+                .expectNextCount(2)
+                .thenRequest(3)
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+}
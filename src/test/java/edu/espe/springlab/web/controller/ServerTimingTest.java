@@ -0,0 +1,97 @@
+package edu.espe.springlab.web.controller;
+
+import edu.espe.springlab.domain.Student;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.espe.springlab.metrics.ServerTimingFilter;
+import edu.espe.springlab.metrics.ServerTimings;
+import edu.espe.springlab.metrics.TimingJacksonHttpMessageConverter;
+import edu.espe.springlab.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@Transactional
+public class ServerTimingTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ServerTimingFilter serverTimingFilter;
+
+    @Autowired
+    private StudentRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(serverTimingFilter)
+                .build();
+    }
+
+    @Test
+    void shouldAddServerTimingHeaderWithoutBufferingTheBody() throws Exception {
+        Student s = new Student();
+        s.setFullName("Timing Test");
+        s.setEmail("timing@example.com");
+        s.setBirthDate(LocalDate.of(2000, 1, 1));
+        s.setActive(true);
+        repository.save(s);
+
+        mockMvc.perform(get("/api/students/search").param("name", "timing"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("db;dur="), containsString("service;dur="))))
+                // Por defecto el header sale antes del cuerpo: la serializacion va solo a las metricas
+                .andExpect(header().string("Server-Timing", not(containsString("ser;dur="))))
+                // La busqueda hace al menos una consulta a la base de datos
+                .andExpect(header().string("Server-Timing", not(containsString("\"0 queries\""))));
+    }
+
+    @Test
+    void shouldIncludeSerializationWhenBufferingIsEnabled() throws Exception {
+        TimingJacksonHttpMessageConverter converter = new TimingJacksonHttpMessageConverter(objectMapper, true);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        ServerTimings.start();
+        try {
+            converter.write(Map.of("ok", true), MediaType.APPLICATION_JSON, output);
+        } finally {
+            ServerTimings.clear();
+        }
+
+        assertThat(output.getHeaders().getFirst("Server-Timing"), containsString("ser;dur="));
+        assertThat(output.getHeaders().getContentLength(), is((long) output.getBodyAsBytes().length));
+    }
+
+    @Test
+    void shouldAggregatePhasesByRoute() throws Exception {
+        mockMvc.perform(get("/api/students/stats"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/metrics/server-timing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].route", hasItems(
+                        "GET /api/students/stats db", "GET /api/students/stats service", "GET /api/students/stats ser")));
+    }
+}
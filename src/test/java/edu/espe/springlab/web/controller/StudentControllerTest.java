@@ -1,23 +1,33 @@
 package edu.espe.springlab.web.controller;
 
 import edu.espe.springlab.domain.Student;
+import edu.espe.springlab.dto.StudentPageResponse;
 import edu.espe.springlab.repository.StudentRepository;
 import edu.espe.springlab.service.StudentService;
+import edu.espe.springlab.stats.StudentStatsCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @Transactional
@@ -37,11 +47,20 @@ public class StudentControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private StudentStatsCounter statsCounter;
+
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
     }
 
+    @AfterTransaction
+    void resetStatsCounters() {
+        // Los contadores quedaron con filas de la transaccion revertida
+        statsCounter.reconcile();
+    }
+
     @Test
     void shouldReturnElapsedTimeHeaderOnGetRequest() throws Exception {
         // Prueba 5: Interceptor agrega X-Elapsed-Time
@@ -77,6 +96,8 @@ public class StudentControllerTest {
         repository.save(active1);
         repository.save(active2);
         repository.save(inactive);
+        // Los contadores solo ven lo confirmado: se alinean con la base (incluye esta transaccion)
+        statsCounter.reconcile();
 
         // Llamar al endpoint /stats
         mockMvc.perform(get("/api/students/stats"))
@@ -134,7 +155,7 @@ public class StudentControllerTest {
         mockMvc.perform(patch("/api/students/{id}/deactivate", saved.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.active", is(false)))  // active = false
-                .andExpect(jsonPath("$.id", is(saved.getId().intValue())))  // ID sin cambios
+                .andExpect(jsonPath("$.id", is(saved.getId())))  // ID sin cambios
                 .andExpect(jsonPath("$.fullName", is("Test Student")))  // fullName sin cambios
                 .andExpect(jsonPath("$.email", is("test.patch@example.com")));  // email sin cambios
 
@@ -142,4 +163,119 @@ public class StudentControllerTest {
         Student retrieved = repository.findById(saved.getId()).orElseThrow();
         assert !retrieved.getActive();
     }
+
+    @Test
+    void shouldReturnPagedListWithCursor() throws Exception {
+        List<Long> inserted = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Student student = new Student();
+            student.setFullName("Paged Student " + i);
+            student.setEmail("paged" + i + "@example.com");
+            student.setActive(true);
+            inserted.add(repository.save(student).getId());
+        }
+        repository.flush();
+
+        // Recorrer todas las paginas de 2 siguiendo nextCursor
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/students").param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.limit", is(2)))
+                    .andReturn();
+            StudentPageResponse page = objectMapper.readValue(result.getResponse().getContentAsString(),
+                    StudentPageResponse.class);
+            assertTrue(page.getItems().size() <= 2);
+            // Solo la ultima pagina puede venir incompleta, y esa no trae cursor
+            if (page.getItems().size() < 2) {
+                assertNull(page.getNextCursor());
+            }
+            page.getItems().forEach(item -> seen.add(item.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 1000);
+
+        // Ids en orden creciente, sin repetidos y con las 3 filas nuevas
+        assertNull(cursor);
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1) < seen.get(i), "ids fuera de orden o repetidos: " + seen);
+        }
+        assertTrue(seen.containsAll(inserted));
+        assertTrue(pages >= 2);
+
+        // Un limit fuera de rango responde 400
+        mockMvc.perform(get("/api/students").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSupportConditionalGetAndDeactivate() throws Exception {
+        Student student = new Student();
+        student.setFullName("ETag Student");
+        student.setEmail("etag@example.com");
+        student.setActive(true);
+        Student saved = repository.save(student);
+        String etag = "\"" + saved.getId() + "-0\"";
+
+        // GET devuelve el ETag fuerte y con If-None-Match responde 304 sin cuerpo
+        mockMvc.perform(get("/api/students/{id}", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get("/api/students/{id}", saved.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // If-Match con la version actual desactiva; con una version vieja responde 412
+        mockMvc.perform(patch("/api/students/{id}/deactivate", saved.getId()).header("If-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + saved.getId() + "-1\""))
+                .andExpect(jsonPath("$.active", is(false)));
+        mockMvc.perform(patch("/api/students/{id}/deactivate", saved.getId()).header("If-Match", etag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldReturn304ForUnchangedPage() throws Exception {
+        String etag = mockMvc.perform(get("/api/students").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/students").param("limit", "5").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldResolveIdsInRequestOrderAndRejectEmptyLookups() throws Exception {
+        // ?ids= va al multi-get y no al listado por cursor
+        MvcResult result = mockMvc.perform(get("/api/students").param("ids", "-7,-8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.missing[0]", is(-7)))
+                .andExpect(jsonPath("$.missing[1]", is(-8)));
+
+        mockMvc.perform(post("/api/students/lookup").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectImportWithoutRequiredCsvColumns() throws Exception {
+        mockMvc.perform(post("/api/students/imports")
+                        .contentType("text/csv")
+                        .content("nombre,correo\nAna,ana@example.com\n"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/students/imports/{jobId}/rejects", "no-existe"))
+                .andExpect(status().isNotFound());
+    }
 }